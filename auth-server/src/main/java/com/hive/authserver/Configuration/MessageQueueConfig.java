@@ -0,0 +1,41 @@
+package com.hive.authserver.Configuration;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.core.ProducerFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class MessageQueueConfig {
+
+    @Bean
+    public NewTopic createUserEventTopic() {
+        return new NewTopic("user-events", 3, (short) 1);
+    }
+
+    @Bean
+    public Map<String,Object> producerConfig() {
+        Map<String,Object> props = new HashMap<>();
+        props.put( ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        props.put( ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put( ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        return props;
+    }
+
+    @Bean
+    public ProducerFactory<String,Object> producerFactory() {
+        return new DefaultKafkaProducerFactory<>( producerConfig());
+    }
+
+    @Bean
+    public KafkaTemplate<String,Object> kafkaTemplate() {
+        return new KafkaTemplate<>( producerFactory());
+    }
+}
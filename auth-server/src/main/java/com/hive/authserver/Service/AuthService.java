@@ -27,6 +27,7 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final OtpService otpService;
+    private final MessageQueueService messageQueueService;
 
     public AuthResponse userRegister(UserSignUpDTO newUser) {
         Date date = new Date( new java.util.Date().getTime() );
@@ -41,7 +42,9 @@ public class AuthService {
                 .blockReason("NOT BLOCKED")
                 .build();
 
-        return getAuthResponse(dao.save(user), "REGISTRATION_SUCCESS");
+        User savedUser = dao.save(user);
+        messageQueueService.sendUserCreated(savedUser.getId());
+        return getAuthResponse(savedUser, "REGISTRATION_SUCCESS");
     }
 
     public AuthResponse authenticate(UserSignInDTO userDTO) {
@@ -0,0 +1,33 @@
+package com.hive.authserver.Service;
+
+import com.hive.DTO.UserEvent;
+import com.hive.Utility.UserEventType;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class MessageQueueService {
+    private static final Logger log = LoggerFactory.getLogger(MessageQueueService.class);
+    private static final String USER_EVENT_TOPIC = "user-events";
+    private final KafkaTemplate<String,Object> template;
+
+    //? Fire and forget : consumers fall back to user-service for anything they missed
+    public void sendUserCreated(Long userId) {
+        UserEvent event = new UserEvent(userId, UserEventType.CREATED);
+        try {
+            template.send(USER_EVENT_TOPIC, String.valueOf(userId), event)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.warn("Unable to send " + event + " due to : " + ex.getMessage());
+                        }
+                    });
+        }
+        catch (Exception e) {
+            log.warn("Unable to send " + event + " due to : " + e.getMessage());
+        }
+    }
+}
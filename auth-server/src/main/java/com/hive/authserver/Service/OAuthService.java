@@ -33,6 +33,7 @@ public class OAuthService {
     private final AuthService authService;
     private final PasswordEncoder passwordEncoder;
     private final UserDAO dao;
+    private final MessageQueueService messageQueueService;
     @Value("${spring.security.oauth2.resourceserver.opaque-token.clientId}")
     private String clientId;
 
@@ -91,7 +92,9 @@ public class OAuthService {
                 .blockReason("NOT BLOCKED")
                 .build();
 
-        return authService.getAuthResponse(dao.save(user),"REGISTRATION_SUCCESS");
+        User savedUser = dao.save(user);
+        messageQueueService.sendUserCreated(savedUser.getId());
+        return authService.getAuthResponse(savedUser,"REGISTRATION_SUCCESS");
     }
 
     private String getUniqueUsername(String email) {
@@ -16,4 +16,5 @@ public class NotificationDTO {
     private Date date;
     private Long postId;
     private Long commentId;
+    private Integer aggregateCount;
 }
\ No newline at end of file
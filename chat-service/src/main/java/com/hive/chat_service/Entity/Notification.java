@@ -19,4 +19,5 @@ public class Notification {
     private Date date;
     @Nullable private Long postId;
     @Nullable private Long commentId;
+    @Nullable private Integer aggregateCount;
 }
\ No newline at end of file
@@ -57,6 +57,7 @@ public class MessageQueueService {
                 .date(Date.from(Instant.now()))
                 .postId(message.getPostId())
                 .commentId(message.getCommentId())
+                .aggregateCount(message.getAggregateCount())
                 .build();
     }
 
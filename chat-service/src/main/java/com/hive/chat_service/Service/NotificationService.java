@@ -33,6 +33,7 @@ public class NotificationService {
                 .date(Date.from(Instant.now()))
                 .postId(notificationDTO.getPostId())
                 .commentId(notificationDTO.getCommentId())
+                .aggregateCount(notificationDTO.getAggregateCount())
                 .build();
         return entityToDTO(dao.save(notification));
     }
@@ -70,6 +71,7 @@ public class NotificationService {
                 .date(notification.getDate())
                 .postId(notification.getPostId())
                 .commentId(notification.getCommentId())
+                .aggregateCount(notification.getAggregateCount())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.hive.postservice.Benchmark;
+
+import com.hive.postservice.DTO.PostDTO;
+import com.hive.postservice.Entity.Post;
+import com.hive.postservice.Utility.MediaStatus;
+import com.hive.postservice.Utility.PostType;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic post fixtures, the same seed gives the same rows on every run so before/after numbers compare.
+final class BenchmarkData {
+    private static final PostType[] TYPES = PostType.values();
+    private static final long START = Timestamp.valueOf("2024-01-01 00:00:00").getTime();
+
+    private BenchmarkData() { }
+
+    static List<Post> posts(int count, boolean withIds) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PostType postType = TYPES[random.nextInt(TYPES.length)];
+            posts.add(Post.builder()
+                    .id(withIds ? (long) i + 1 : null)
+                    .description("Post " + i + " about " + (random.nextBoolean() ? "travel and food" : "music, sport and friends"))
+                    .fileName(postType == PostType.TEXT_ONLY ? "NO-MEDIA" : "file-" + i + ".jpg")
+                    .fileType(postType == PostType.TEXT_ONLY ? "NO-MEDIA" : "image/jpeg")
+                    .filePath(postType == PostType.TEXT_ONLY ? "NO-MEDIA" : "/data/post-files/file-" + i + ".jpg")
+                    .aspectRatio(postType == PostType.TEXT_ONLY ? null : 1.25)
+                    .userId(1L + random.nextInt(500))
+                    .createdOn(new Timestamp(START + random.nextLong(365L * 24 * 3600 * 1000)))
+                    .isBlocked(random.nextInt(50) == 0)
+                    .isDeleted(false)
+                    .postType(postType)
+                    .mediaStatus(MediaStatus.READY)
+                    .build());
+        }
+        return posts;
+    }
+
+    //? Rows as the POST_DTO constructor expression in PostDAO builds them, one constructor call per row
+    static List<PostDTO> postDTOs(List<Post> posts) {
+        List<PostDTO> rows = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            rows.add(new PostDTO(post.getId(), post.getDescription(), post.getFileName(), post.getFileType(),
+                                 post.getFilePath(), post.getAspectRatio(), post.getCreatedOn(), post.getUserId(),
+                                 post.getIsBlocked(), post.getPostType(), post.getMediaStatus()));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,93 @@
+package com.hive.postservice.Benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Serving a media file : the old getPostFile byte[] path against the streaming paths MediaStreamer uses.
+// The sink discards bytes like a fast client would, so the numbers are read and copy cost only.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MediaReadBenchmark {
+
+    @Param({"65536", "4194304", "33554432"})
+    public int fileSize;
+
+    private Path file;
+    private ByteBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("media-read-bench", ".bin");
+        byte[] content = new byte[fileSize];
+        new SplittableRandom(7).nextBytes(content);
+        Files.write(file, content);
+        buffer = ByteBuffer.allocateDirect(64 * 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long readAllBytes() throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        OutputStream out = OutputStream.nullOutputStream();
+        out.write(content);
+        return content.length;
+    }
+
+    @Benchmark
+    public long inputStreamTransfer() throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public long fileChannelTransfer() throws IOException {
+        WritableByteChannel out = Channels.newChannel(OutputStream.nullOutputStream());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = 0;
+            long size = channel.size();
+            while (position < size) {
+                long written = channel.transferTo(position, size - position, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+            }
+            return position;
+        }
+    }
+
+    @Benchmark
+    public long directBufferCopy() throws IOException {
+        buffer.clear();
+        WritableByteChannel out = Channels.newChannel(OutputStream.nullOutputStream());
+        long total = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                total += out.write(buffer);
+                buffer.clear();
+            }
+        }
+        return total;
+    }
+}
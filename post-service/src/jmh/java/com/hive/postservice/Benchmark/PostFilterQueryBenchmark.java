@@ -0,0 +1,124 @@
+package com.hive.postservice.Benchmark;
+
+import com.hive.postservice.DTO.PostDTO;
+import com.hive.postservice.DTO.PostFilter;
+import com.hive.postservice.Entity.Post;
+import com.hive.postservice.Repository.PostFilterDAOImpl;
+import com.hive.postservice.Repository.PostSpecifications;
+import com.hive.postservice.Utility.DateFilter;
+import com.hive.postservice.Utility.MediaStatus;
+import com.hive.postservice.Utility.PostTypeFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.lang.reflect.Field;
+import java.sql.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// PostFilter -> Specification -> Criteria -> SQL, and the same query executed, against an in-memory H2 in Postgres mode.
+// H2 is a stand-in : plan quality is not comparable to Postgres, construction and translation overhead is.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PostFilterQueryBenchmark {
+    private static final int ROWS = 20_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"ALL", "IMAGE_CUSTOM_DATE", "BLOCKED_BY_USER"})
+    public String scenario;
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private PostFilterDAOImpl postFilterDAO;
+    private PostFilter filter;
+    private Sort sort;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        sessionFactory = new org.hibernate.cfg.Configuration()
+                .addAnnotatedClass(Post.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:post-filter-bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "100")
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .buildSessionFactory();
+        seed();
+
+        entityManager = sessionFactory.createEntityManager();
+        postFilterDAO = new PostFilterDAOImpl();
+        Field field = PostFilterDAOImpl.class.getDeclaredField("entityManager");
+        field.setAccessible(true);
+        field.set(postFilterDAO, entityManager);
+
+        filter = switch (scenario) {
+            case "IMAGE_CUSTOM_DATE" -> PostFilter.builder()
+                    .postFile(PostTypeFilter.IMAGE_BASED)
+                    .dateFilter(DateFilter.CUSTOM_DATE)
+                    .startingDate(Date.valueOf("2024-03-01"))
+                    .endingDate(Date.valueOf("2024-05-31"))
+                    .build();
+            case "BLOCKED_BY_USER" -> PostFilter.builder().isBlocked(false).userId(42L).build();
+            default -> PostFilter.builder().build();
+        };
+        sort = Sort.by("createdOn").ascending().and(Sort.by("id").ascending());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public TypedQuery<PostDTO> buildQuery() {
+        //? Mirrors PostFilterDAOImpl.findFiltered up to the point where the query would run
+        Specification<Post> spec = PostSpecifications.fromFilter(filter);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PostDTO> query = cb.createQuery(PostDTO.class);
+        Root<Post> root = query.from(Post.class);
+        query.select(cb.construct(PostDTO.class,
+                root.get("id"), root.get("description"), root.get("fileName"), root.get("fileType"),
+                root.get("filePath"), root.get("aspectRatio"), root.get("createdOn"), root.get("userId"),
+                root.get("isBlocked"), root.get("postType"),
+                cb.coalesce(root.<MediaStatus>get("mediaStatus"), MediaStatus.READY)));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query).setFirstResult(0).setMaxResults(PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<PostDTO> findFiltered() {
+        return postFilterDAO.findFiltered(PostSpecifications.fromFilter(filter), sort, 0, PAGE_SIZE + 1);
+    }
+
+    private void seed() {
+        try (EntityManager seeder = sessionFactory.createEntityManager()) {
+            seeder.getTransaction().begin();
+            List<Post> posts = BenchmarkData.posts(ROWS, false);
+            for (int i = 0; i < posts.size(); i++) {
+                seeder.persist(posts.get(i));
+                if (i % 500 == 0) {
+                    seeder.flush();
+                    seeder.clear();
+                }
+            }
+            seeder.getTransaction().commit();
+        }
+    }
+}
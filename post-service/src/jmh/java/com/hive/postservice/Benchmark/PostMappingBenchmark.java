@@ -0,0 +1,53 @@
+package com.hive.postservice.Benchmark;
+
+import com.hive.postservice.DTO.PaginationInfo;
+import com.hive.postservice.DTO.PostDTO;
+import com.hive.postservice.Entity.Post;
+import com.hive.postservice.Service.PostMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Per-row mapping of the old entity path (PostMapper.toDTO) against the projection path (PostDTO constructor, as the
+// POST_DTO constructor expression runs it), and the PaginationInfo assembly getAllPosts does over a findDTOPage page.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PostMappingBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private List<Post> posts;
+    private Page<PostDTO> page;
+
+    @Setup
+    public void setup() {
+        posts = BenchmarkData.posts(pageSize, true);
+        page = new PageImpl<>(BenchmarkData.postDTOs(posts), PageRequest.of(0, pageSize), 10_000L);
+    }
+
+    @Benchmark
+    public void entityToDTO(Blackhole blackhole) {
+        for (Post post : posts) {
+            blackhole.consume(PostMapper.toDTO(post));
+        }
+    }
+
+    @Benchmark
+    public List<PostDTO> projectionRows() {
+        return BenchmarkData.postDTOs(posts);
+    }
+
+    @Benchmark
+    public PaginationInfo paginationInfo() {
+        return PostMapper.toPaginationInfo(page);
+    }
+}
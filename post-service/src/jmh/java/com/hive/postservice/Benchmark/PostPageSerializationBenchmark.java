@@ -0,0 +1,38 @@
+package com.hive.postservice.Benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hive.postservice.DTO.PaginationInfo;
+import com.hive.postservice.Service.PostMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// Jackson cost of a PostDTO page with the same ObjectMapper defaults Spring MVC writes responses with.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PostPageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PaginationInfo page;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        page = PostMapper.toPaginationInfo(new PageImpl<>(BenchmarkData.postDTOs(BenchmarkData.posts(pageSize, true)),
+                                                          PageRequest.of(0, pageSize), 10_000L));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
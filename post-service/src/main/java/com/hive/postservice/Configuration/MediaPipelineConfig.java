@@ -0,0 +1,28 @@
+package com.hive.postservice.Configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class MediaPipelineConfig {
+
+    //? Bounded queue + abort : when the pool is saturated the upload is turned away with 503 / Retry-After instead of
+    //? the request thread decoding it, which would tie up Tomcat threads under exactly the load that caused it.
+    @Bean(name = "mediaExecutor")
+    public ThreadPoolTaskExecutor mediaExecutor(@Value("${MEDIA.WORKERS:2}") Integer workers,
+                                                @Value("${MEDIA.QUEUE-CAPACITY:50}") Integer queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("media-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
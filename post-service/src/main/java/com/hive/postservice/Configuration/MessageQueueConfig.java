@@ -1,19 +1,34 @@
 package com.hive.postservice.Configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
+@RequiredArgsConstructor
 public class MessageQueueConfig {
+    private final MeterRegistry meterRegistry;
 
     @Bean
     public NewTopic createTopic() {
@@ -26,16 +41,56 @@ public class MessageQueueConfig {
         props.put( ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
         props.put( ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         props.put( ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        //? The outbox relay sends in bursts : let the producer fill and compress batches
+        props.put( ProducerConfig.LINGER_MS_CONFIG, 20);
+        props.put( ProducerConfig.BATCH_SIZE_CONFIG, 64 * 1024);
+        props.put( ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        props.put( ProducerConfig.ACKS_CONFIG, "all");
+        props.put( ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
         return props;
     }
 
     @Bean
     public ProducerFactory<String,Object> producerFactory() {
-        return new DefaultKafkaProducerFactory<>( producerConfig());
+        DefaultKafkaProducerFactory<String,Object> factory = new DefaultKafkaProducerFactory<>( producerConfig());
+        //? Client metrics : record-send-rate, request-latency, buffer-available-bytes ...
+        factory.addListener( new MicrometerProducerListener<>( meterRegistry));
+        return factory;
     }
 
     @Bean
     public KafkaTemplate<String,Object> kafkaTemplate() {
-        return new KafkaTemplate<>( producerFactory());
+        KafkaTemplate<String,Object> template = new KafkaTemplate<>( producerFactory());
+        //? spring.kafka.template timer : send latency until the broker ack, tagged by result
+        template.setMicrometerEnabled(true);
+        return template;
     }
-}
\ No newline at end of file
+
+    @Bean
+    public Map<String, Object> consumerConfig() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
+        props.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class.getName());
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.hive.DTO.UserEvent");
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        return props;
+    }
+
+    @Bean
+    public ConsumerFactory<String, Object> consumerFactory() {
+        DefaultKafkaConsumerFactory<String, Object> factory = new DefaultKafkaConsumerFactory<>(consumerConfig());
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    @Bean
+    public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, Object>> kafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        return factory;
+    }
+}
@@ -0,0 +1,25 @@
+package com.hive.postservice.Configuration;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MigrationConfig {
+
+    //? Tables still come from Hibernate (ddl-auto update), so migrations run after it instead of before like Boot's
+    //? own Flyway setup : they only hold the DDL Hibernate cannot express, once per database under Flyway's lock.
+    //? Baseline 0 lets V1 apply to databases that existed before Flyway was added.
+    @Bean(initMethod = "migrate")
+    @DependsOn("entityManagerFactory")
+    public Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+    }
+}
@@ -2,15 +2,24 @@ package com.hive.postservice.Controller;
 
 import com.hive.postservice.DTO.*;
 import com.hive.postservice.Service.PostService;
+import com.hive.postservice.Utility.MediaStreamer;
+import com.hive.postservice.Utility.MediaVariant;
 import com.hive.postservice.Utility.PostType;
+import com.hive.postservice.Utility.TrendingWindow;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 @RestController
@@ -18,6 +27,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PostController {
     private final PostService service;
+    private final MediaStreamer mediaStreamer;
 
     @PostMapping("/create")
     public ResponseEntity<PostDTO> createPost(@RequestParam(name = "file", required = false) MultipartFile file,
@@ -37,7 +47,15 @@ public class PostController {
             return new ResponseEntity<>( service.createPost(postRequestDTO), HttpStatus.CREATED);
         }
         else {
-            return new ResponseEntity<>( service.createPost(file, postRequestDTO), HttpStatus.CREATED);
+            try {
+                return new ResponseEntity<>( service.createPost(file, postRequestDTO), HttpStatus.CREATED);
+            }
+            catch (TaskRejectedException e) {
+                //? Media workers and their queue are full, shed the upload instead of piling up decodes
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                     .header(HttpHeaders.RETRY_AFTER, "5")
+                                     .build();
+            }
         }
     }
 
@@ -47,38 +65,68 @@ public class PostController {
     }
 
     @GetMapping("/files/{postId}")
-    public ResponseEntity<byte[]> getImage(@PathVariable("postId") Long postId ) {
-        try {
-            PostDTO postDTO = service.getPost(postId);
-            if (postDTO.getPostType() == PostType.TEXT_ONLY) {
-                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-            }
-
-            byte[] fileBytes = service.getPostFile(postId);
-            HttpHeaders headers = new HttpHeaders();
-
-            if(postDTO.getPostType() == PostType.IMAGE){
-                headers.setContentType(MediaType.IMAGE_PNG);
-            }
-            else if(postDTO.getPostType() == PostType.VIDEO){
-                headers.setContentType(MediaType.valueOf("video/mp4"));
-            }
+    public void getImage(@PathVariable("postId") Long postId,
+                         @RequestParam(name = "variant", defaultValue = "ORIGINAL") MediaVariant variant,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        PostDTO postDTO = service.getPost(postId);
+        if (postDTO.getPostType() == PostType.TEXT_ONLY) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
 
-            return new ResponseEntity<>(fileBytes, headers, HttpStatus.OK);
+        Path file;
+        try {
+            file = service.getPostFile(postId, variant);
         } catch (IOException e) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
         }
+        mediaStreamer.stream(file, resolveContentType(postDTO, variant, file), request, response);
+    }
+
+    private MediaType resolveContentType(PostDTO postDTO, MediaVariant variant, Path file) throws IOException {
+        if (variant != MediaVariant.ORIGINAL && file.getFileName().toString().endsWith(".jpg")) {
+            //? Generated variants are always JPEG
+            return MediaType.IMAGE_JPEG;
+        }
+        try {
+            return MediaType.parseMediaType(postDTO.getFileType());
+        } catch (InvalidMediaTypeException ignored) {
+            //? Older rows and NO-MEDIA placeholders, fall through to probing
+        }
+        String probed = Files.probeContentType(file);
+        if (probed != null) {
+            return MediaType.parseMediaType(probed);
+        }
+        return postDTO.getPostType() == PostType.VIDEO ? MediaType.valueOf("video/mp4") : MediaType.IMAGE_PNG;
     }
 
     @GetMapping("")
-    public ResponseEntity<List<PostDTO>> getPostsForUser(@RequestParam("userId") Long userId){
-        return new ResponseEntity<>(service.getPostsForUser(userId), HttpStatus.OK);
+    public ResponseEntity<FeedPage> getPostsForUser(@RequestParam("userId") Long userId,
+                                                    @RequestParam(name = "cursor", required = false) String cursor,
+                                                    @RequestParam(name = "pageSize", defaultValue = "20") Integer pageSize){
+        return new ResponseEntity<>(service.getPostsForUser(userId, cursor, pageSize), HttpStatus.OK);
     }
 
     @GetMapping("random")
     public ResponseEntity<List<PostDTO>> getRandomPosts(@RequestParam("pageNo") Integer pageNo,
-                                                        @RequestParam("pageSize") Integer pageSize) {
-        return ResponseEntity.ok( service.getRandomPosts(pageNo,pageSize) );
+                                                        @RequestParam("pageSize") Integer pageSize,
+                                                        @RequestParam(name = "seed", required = false) String seed) {
+        //? Clients echo the seed back on later pages to walk the same non-repeating order
+        if (seed == null || seed.isBlank()) {
+            seed = service.newDiscoverySeed();
+        }
+        return ResponseEntity.ok()
+                .header("X-Discovery-Seed", seed)
+                .body( service.getRandomPosts(pageNo, pageSize, seed) );
+    }
+
+    @GetMapping("trending")
+    public ResponseEntity<List<PostDTO>> getTrendingPosts(@RequestParam(name = "window", defaultValue = "DAY") TrendingWindow window,
+                                                          @RequestParam(name = "pageNo", defaultValue = "0") Integer pageNo,
+                                                          @RequestParam(name = "pageSize", defaultValue = "20") Integer pageSize) {
+        return ResponseEntity.ok(service.getTrendingPosts(window, pageNo, pageSize));
     }
 
     @GetMapping("user-posts")
@@ -86,6 +134,21 @@ public class PostController {
         return new ResponseEntity<>(service.getUserPosts(userId), HttpStatus.OK);
     }
 
+    @GetMapping("user-posts/page")
+    public ResponseEntity<CursorPage<PostDTO>> getUserPosts(@RequestParam("userId") Long userId,
+                                                            @RequestParam(name = "cursor", required = false) String cursor,
+                                                            @RequestParam(name = "pageSize", defaultValue = "20") Integer pageSize,
+                                                            @RequestParam(name = "withCount", defaultValue = "false") Boolean withCount){
+        return ResponseEntity.ok(service.getUserPosts(userId, cursor, pageSize, withCount));
+    }
+
+    @GetMapping("user-posts/grid")
+    public ResponseEntity<CursorPage<PostGridItemDTO>> getProfileGrid(@RequestParam("userId") Long userId,
+                                                                      @RequestParam(name = "cursor", required = false) String cursor,
+                                                                      @RequestParam(name = "pageSize", defaultValue = "30") Integer pageSize){
+        return ResponseEntity.ok(service.getProfileGrid(userId, cursor, pageSize));
+    }
+
     @DeleteMapping("delete")
     public ResponseEntity<Void> deletePost(@RequestParam("postId") Long postId){
         try{
@@ -108,9 +171,18 @@ public class PostController {
         return new ResponseEntity<>(service.updatePost(postDTO), HttpStatus.OK);
     }
 
+    @GetMapping("all-posts/page")
+    public ResponseEntity<CursorPage<PostDTO>> getAllPosts(@RequestParam(name = "cursor", required = false) String cursor,
+                                                           @RequestParam(name = "pageSize", defaultValue = "20") Integer pageSize,
+                                                           @RequestParam(name = "withCount", defaultValue = "false") Boolean withCount){
+        return ResponseEntity.ok(service.getAllPosts(cursor, pageSize, withCount));
+    }
+
     @GetMapping("search")
-    public ResponseEntity<List<PostDTO>> searchPostByDescription(@RequestParam("searchQuery") String searchQuery) {
-        return new ResponseEntity<>(service.searchPostByDescription(searchQuery), HttpStatus.OK);
+    public ResponseEntity<SearchPage> searchPosts(@RequestParam("searchQuery") String searchQuery,
+                                                  @RequestParam(name = "cursor", required = false) String cursor,
+                                                  @RequestParam(name = "pageSize", defaultValue = "20") Integer pageSize) {
+        return new ResponseEntity<>(service.searchPosts(searchQuery, cursor, pageSize), HttpStatus.OK);
     }
 
     @PostMapping("filter")
@@ -118,6 +190,11 @@ public class PostController {
         return ResponseEntity.ok(service.filter(filter));
     }
 
+    @PostMapping("filter/page")
+    public ResponseEntity<CursorPage<PostDTO>> filterByCursor(@RequestBody PostFilter filter) {
+        return ResponseEntity.ok(service.filterByCursor(filter));
+    }
+
 //! POST END-POINTS ENDED
 //* COMMENT END-POINTS STARTS HERE
 
@@ -142,6 +219,14 @@ public class PostController {
         return new ResponseEntity<>(service.getCommentsForPost(postId), HttpStatus.OK);
     }
 
+    @GetMapping("all-comments/page")
+    public ResponseEntity<CursorPage<CommentDTO>> getCommentsForPost(@RequestParam("postId") Long postId,
+                                                                     @RequestParam(name = "cursor", required = false) String cursor,
+                                                                     @RequestParam(name = "pageSize", defaultValue = "20") Integer pageSize,
+                                                                     @RequestParam(name = "withCount", defaultValue = "false") Boolean withCount){
+        return ResponseEntity.ok(service.getCommentsForPost(postId, cursor, pageSize, withCount));
+    }
+
     @GetMapping("single-comment")
     public ResponseEntity<CommentDTO> getComment(@RequestParam("commentId") Long commentId){
         return new ResponseEntity<>(service.getComment(commentId), HttpStatus.OK);
@@ -155,6 +240,7 @@ public class PostController {
 //! COMMENT END-POINTS ENDED
 //* LIKE END-POINTS STARTS HERE
 
+    //? Likes are written in batches, the response carries no like id
     @PostMapping("add-like")
     public ResponseEntity<LikeDTO> createLike(@RequestBody LikeRequestDTO likeDTO){
         return new ResponseEntity<>(service.createLike(likeDTO), HttpStatus.OK);
@@ -176,11 +262,24 @@ public class PostController {
         return ResponseEntity.ok().body(service.isUserLiked(likeRequestDTO));
     }
 
+    @PostMapping("engagement-state")
+    public ResponseEntity<List<EngagementStateDTO>> getEngagementState(@RequestBody EngagementRequestDTO engagementRequest){
+        return ResponseEntity.ok(service.getEngagementState(engagementRequest));
+    }
+
     @GetMapping("all-like")
     public ResponseEntity<List<LikeDTO>> getLikesForPost(@RequestParam("postId") Long postId){
         return new ResponseEntity<>(service.getLikesForPost(postId), HttpStatus.OK);
     }
 
+    @GetMapping("all-like/page")
+    public ResponseEntity<CursorPage<LikeDTO>> getLikesForPost(@RequestParam("postId") Long postId,
+                                                               @RequestParam(name = "cursor", required = false) String cursor,
+                                                               @RequestParam(name = "pageSize", defaultValue = "20") Integer pageSize,
+                                                               @RequestParam(name = "withCount", defaultValue = "false") Boolean withCount){
+        return ResponseEntity.ok(service.getLikesForPost(postId, cursor, pageSize, withCount));
+    }
+
     @DeleteMapping("remove-like")
     public ResponseEntity<Void> deleteLike(@RequestBody LikeRequestDTO like){
         try{
@@ -198,6 +297,11 @@ public class PostController {
         return ResponseEntity.ok(service.likeCount(postId));
     }
 
+    @GetMapping("counts")
+    public ResponseEntity<List<PostCountDTO>> getCounts(@RequestParam("postIds") List<Long> postIds){
+        return ResponseEntity.ok(service.getCounts(postIds));
+    }
+
     @GetMapping("post-count")
     public ResponseEntity<Long> getTotalPosts(){
         return ResponseEntity.ok(service.postCount());
@@ -0,0 +1,15 @@
+package com.hive.postservice.DTO;
+
+import lombok.Builder;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@Builder
+public class CursorPage<T> {
+    private List<T> contents; //1
+    private Integer pageSize; //2
+    private String nextCursor; //3
+    private Boolean hasNext; //4
+    private Long totalElements; //5 only when requested
+}
@@ -0,0 +1,16 @@
+package com.hive.postservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EngagementRequestDTO {
+    private Long userId;
+    private List<Long> postIds;
+}
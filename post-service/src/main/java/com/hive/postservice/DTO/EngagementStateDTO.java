@@ -0,0 +1,18 @@
+package com.hive.postservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EngagementStateDTO {
+    private Long postId;
+    private Boolean liked;
+    private Boolean commented;
+    private Long likeCount;
+    private Long commentCount;
+}
@@ -0,0 +1,16 @@
+package com.hive.postservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCountDTO {
+    private Long postId;
+    private Long likeCount;
+    private Long commentCount;
+}
@@ -1,5 +1,6 @@
 package com.hive.postservice.DTO;
 
+import com.hive.postservice.Utility.MediaStatus;
 import com.hive.postservice.Utility.PostType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,4 +24,5 @@ public class PostDTO {
     private Long userId;
     private Boolean isBlocked;
     private PostType postType;
+    private MediaStatus mediaStatus;
 }
\ No newline at end of file
@@ -20,4 +20,8 @@ public class PostFilter {
     private Date endingDate;
     private Integer pageNo;
     private Integer pageSize;
+    private Boolean isBlocked; //null = all
+    private Long userId; //null = all
+    private String cursor;
+    private Boolean withCount;
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.hive.postservice.DTO;
+
+import com.hive.postservice.Utility.MediaStatus;
+import com.hive.postservice.Utility.PostType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.sql.Timestamp;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostGridItemDTO {
+    private Long id; //1
+    private String thumbnailUrl; //2 files endpoint of the thumbnail, null for text posts and media still processing
+    private PostType postType; //3
+    private Double aspectRatio; //4
+    private MediaStatus mediaStatus; //5
+    private Timestamp createdOn; //6
+}
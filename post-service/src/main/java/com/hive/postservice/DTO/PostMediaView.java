@@ -0,0 +1,9 @@
+package com.hive.postservice.DTO;
+
+//? Interface projection : the media columns getPostFile needs, read without a managed Post
+public interface PostMediaView {
+    String getMediaKey();
+    String getThumbnailKey();
+    String getPreviewKey();
+    String getFilePath();
+}
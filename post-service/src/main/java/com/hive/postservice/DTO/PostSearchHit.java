@@ -0,0 +1,15 @@
+package com.hive.postservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSearchHit {
+    private PostDTO post; //1
+    private String highlight; //2
+}
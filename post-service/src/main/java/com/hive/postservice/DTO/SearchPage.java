@@ -0,0 +1,14 @@
+package com.hive.postservice.DTO;
+
+import lombok.Builder;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@Builder
+public class SearchPage {
+    private List<PostSearchHit> contents; //1
+    private Integer pageSize; //2
+    private String nextCursor; //3
+    private Boolean hasNext; //4
+}
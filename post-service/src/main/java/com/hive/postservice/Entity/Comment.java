@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 import java.sql.Timestamp;
 
 @Entity
-@Table(name = "post_comment")
+@Table(name = "post_comment", indexes = {
+        @Index(name = "idx_comment_user_post", columnList = "user_id, post_id"),
+        @Index(name = "idx_comment_post_date", columnList = "post_id, commented_date DESC, id DESC")
+})
 @Data
 @Builder
 @AllArgsConstructor
@@ -30,7 +33,7 @@ public class Comment {
     @Column(name = "is_blocked", nullable = false)
     private Boolean isBlocked;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id", referencedColumnName = "id", nullable = false)
     private Post post;
 }
\ No newline at end of file
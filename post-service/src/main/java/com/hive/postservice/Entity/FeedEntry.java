@@ -0,0 +1,41 @@
+package com.hive.postservice.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.sql.Timestamp;
+
+@Entity
+@Table(
+        name = "feed_entry",
+        uniqueConstraints = @UniqueConstraint(name = "uk_feed_owner_post", columnNames = {"owner_id", "post_id"}),
+        indexes = {
+                @Index(name = "idx_feed_owner_created", columnList = "owner_id, created_on DESC, post_id DESC"),
+                @Index(name = "idx_feed_post", columnList = "post_id")
+        }
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedEntry {
+    //? Sequence (not IDENTITY) so fan-out inserts can be JDBC batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feed_entry_seq")
+    @SequenceGenerator(name = "feed_entry_seq", sequenceName = "feed_entry_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    @Column(name = "created_on", nullable = false)
+    private Timestamp createdOn;
+}
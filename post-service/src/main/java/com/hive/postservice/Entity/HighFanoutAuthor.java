@@ -0,0 +1,26 @@
+package com.hive.postservice.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.sql.Timestamp;
+
+@Entity
+@Table(name = "feed_high_fanout_author")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HighFanoutAuthor {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "friend_count", nullable = false)
+    private Integer friendCount;
+
+    @Column(name = "marked_on", nullable = false)
+    private Timestamp markedOn;
+}
@@ -8,7 +8,14 @@ import lombok.NoArgsConstructor;
 import java.sql.Timestamp;
 
 @Entity
-@Table(name = "post_like")
+@Table(
+        name = "post_like",
+        uniqueConstraints = @UniqueConstraint(name = "uk_like_post_user", columnNames = {"post_id", "user_id"}),
+        indexes = {
+                @Index(name = "idx_like_user_post", columnList = "user_id, post_id"),
+                @Index(name = "idx_like_post_date", columnList = "post_id, liked_date DESC, id DESC")
+        }
+)
 @Data
 @Builder
 @NoArgsConstructor
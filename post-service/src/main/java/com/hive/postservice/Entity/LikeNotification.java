@@ -0,0 +1,33 @@
+package com.hive.postservice.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.sql.Timestamp;
+
+//? One row per (user, post) that has already produced a LIKE notification, so unlike / like again stays silent
+@Entity
+@Table(
+        name = "like_notification",
+        uniqueConstraints = @UniqueConstraint(name = "uk_like_notification_post_user", columnNames = {"post_id", "user_id"})
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeNotification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "notified_on", nullable = false)
+    private Timestamp notifiedOn;
+}
@@ -0,0 +1,30 @@
+package com.hive.postservice.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.sql.Timestamp;
+
+@Entity
+@Table(name = "media_blob")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaBlob {
+    //? sha-256 hex + extension, also the relative file name inside the store
+    @Id
+    @Column(name = "media_key", length = 80)
+    private String mediaKey;
+
+    @Column(name = "size", nullable = false)
+    private Long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private Long refCount;
+
+    @Column(name = "created_on", nullable = false)
+    private Timestamp createdOn;
+}
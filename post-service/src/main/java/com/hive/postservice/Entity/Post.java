@@ -1,15 +1,24 @@
 package com.hive.postservice.Entity;
 
+import com.hive.postservice.Utility.MediaStatus;
 import com.hive.postservice.Utility.PostType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import org.hibernate.annotations.SQLRestriction;
 import java.sql.Timestamp;
 
 @Entity
-@Table
+@Table(indexes = {
+        @Index(name = "idx_post_user_created", columnList = "user_id, created_on DESC, id DESC"),
+        @Index(name = "idx_post_created", columnList = "created_on DESC, id DESC"),
+        @Index(name = "idx_post_type_created", columnList = "post_type, created_on DESC, id DESC"),
+        @Index(name = "idx_post_blocked_created", columnList = "is_blocked, created_on DESC, id DESC")
+})
+//? Soft-deleted posts are invisible to every JPA read, PostPurgeService removes them for good
+@SQLRestriction("is_deleted = false")
 @Data
 @Builder
 @NoArgsConstructor
@@ -43,7 +52,32 @@ public class Post {
     @Column(name = "is_blocked", nullable = false)
     private Boolean isBlocked;
 
+    @Column(name = "is_deleted", nullable = false, columnDefinition = "boolean default false")
+    private Boolean isDeleted;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "post_type", nullable = false)
     private PostType postType;
+
+    //? Null on rows created before the media pipeline, treated as READY
+    @Enumerated(EnumType.STRING)
+    @Column(name = "media_status")
+    private MediaStatus mediaStatus;
+
+    //? MediaStore keys, null for rows written before the content-addressed store
+    @Column(name = "media_key", length = 80)
+    private String mediaKey;
+
+    @Column(name = "thumbnail_key", length = 80)
+    private String thumbnailKey;
+
+    @Column(name = "preview_key", length = 80)
+    private String previewKey;
+
+    //? Who is processing a PROCESSING row and since when, a resume sweep only takes unowned or stale rows
+    @Column(name = "media_claimed_by", length = 80)
+    private String mediaClaimedBy;
+
+    @Column(name = "media_claimed_at")
+    private Timestamp mediaClaimedAt;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.hive.postservice.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "post_counter")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCounter {
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "like_count", nullable = false)
+    private Long likeCount;
+
+    @Column(name = "comment_count", nullable = false)
+    private Long commentCount;
+}
@@ -13,6 +13,12 @@ public interface UserInterface {
     @GetMapping("api/user/exists-profile/{id}")
     public ResponseEntity<Boolean> isUserExists(@PathVariable Long id);
 
+    @GetMapping("api/user/active-profile/{id}")
+    ResponseEntity<Boolean> isActiveUser(@PathVariable Long id);
+
+    @GetMapping("api/user/ids")
+    ResponseEntity<List<Long>> getUserIds(@RequestParam("afterId") Long afterId, @RequestParam("limit") Integer limit);
+
     @GetMapping("api/user/friends-ids")
     ResponseEntity<List<Long>> getUserFriendsIds(@RequestParam("userId") Long userId);
 }
\ No newline at end of file
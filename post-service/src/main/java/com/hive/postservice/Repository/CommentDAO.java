@@ -1,14 +1,35 @@
 package com.hive.postservice.Repository;
 
+import com.hive.postservice.DTO.CommentDTO;
 import com.hive.postservice.Entity.Comment;
-import com.hive.postservice.Entity.Post;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentDAO extends JpaRepository<Comment, Long> {
-    List<Comment> findByPost(Post post, Sort sort);
-    Long countAllByPost(Post post);
+    Long countByPostId(Long postId);
+
+    @Query("SELECT new com.hive.postservice.DTO.CommentDTO(c.id, c.comment, c.commentedDate, c.userId, c.isBlocked, c.post.id) " +
+           "FROM Comment c WHERE c.id = :commentId")
+    Optional<CommentDTO> findDTOById(@Param("commentId") Long commentId);
+
+    //Same page as a projection : c.post.id reads the FK column, the Post row is never joined
+    @Query("SELECT new com.hive.postservice.DTO.CommentDTO(c.id, c.comment, c.commentedDate, c.userId, c.isBlocked, c.post.id) " +
+           "FROM Comment c WHERE c.post.id = :postId " +
+           "AND (c.commentedDate < :commentedDate OR (c.commentedDate = :commentedDate AND c.id < :commentId)) " +
+           "ORDER BY c.commentedDate DESC, c.id DESC")
+    List<CommentDTO> findThreadPage(@Param("postId") Long postId,
+                                    @Param("commentedDate") Timestamp commentedDate,
+                                    @Param("commentId") Long commentId,
+                                    Pageable pageable);
+
+    @Query("SELECT c.post.id, COUNT(c) FROM Comment c WHERE c.post.id IN :postIds GROUP BY c.post.id")
+    List<Object[]> countGroupedByPostIds(@Param("postIds") Collection<Long> postIds);
 }
\ No newline at end of file
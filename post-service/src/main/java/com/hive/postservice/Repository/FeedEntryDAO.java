@@ -0,0 +1,29 @@
+package com.hive.postservice.Repository;
+
+import com.hive.postservice.Entity.FeedEntry;
+import com.hive.postservice.DTO.PostDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+public interface FeedEntryDAO extends JpaRepository<FeedEntry, Long> {
+    @Query(PostDAO.POST_DTO + "FROM FeedEntry f JOIN Post p ON p.id = f.postId " +
+           "WHERE f.ownerId = :ownerId AND p.isBlocked = false " +
+           "AND (f.createdOn < :createdOn OR (f.createdOn = :createdOn AND f.postId < :postId)) " +
+           "ORDER BY f.createdOn DESC, f.postId DESC")
+    List<PostDTO> findFeedPage(@Param("ownerId") Long ownerId,
+                               @Param("createdOn") Timestamp createdOn,
+                               @Param("postId") Long postId,
+                               Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM FeedEntry f WHERE f.postId = :postId")
+    void deleteByPostId(@Param("postId") Long postId);
+}
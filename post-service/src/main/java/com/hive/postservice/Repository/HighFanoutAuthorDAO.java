@@ -0,0 +1,14 @@
+package com.hive.postservice.Repository;
+
+import com.hive.postservice.Entity.HighFanoutAuthor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface HighFanoutAuthorDAO extends JpaRepository<HighFanoutAuthor, Long> {
+    @Query("SELECT h.userId FROM HighFanoutAuthor h")
+    List<Long> findAllUserIds();
+}
@@ -1,17 +1,39 @@
 package com.hive.postservice.Repository;
 
+import com.hive.postservice.DTO.LikeDTO;
 import com.hive.postservice.Entity.Like;
-import com.hive.postservice.Entity.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface LikeDAO extends JpaRepository<Like, Long> {
-    Boolean existsByPostAndUserId(Post post, Long userId);
-    List<Like> findByPost(Post post);
-    Long countByPost(Post post);
-    Optional<Like> findByPostAndUserId(Post post, Long userId);
+    String LIKE_DTO = "SELECT new com.hive.postservice.DTO.LikeDTO(l.id, l.userId, l.likedDate, l.post.id) ";
+
+    Long countByPostId(Long postId);
+
+    //l.post.id reads the FK column : the eager Post association is never loaded on these reads
+    @Query(LIKE_DTO + "FROM Like l WHERE l.id = :likeId")
+    Optional<LikeDTO> findDTOById(@Param("likeId") Long likeId);
+
+    @Query(LIKE_DTO + "FROM Like l WHERE l.post.id = :postId ORDER BY l.likedDate DESC, l.id DESC")
+    List<LikeDTO> findDTOsByPostId(@Param("postId") Long postId);
+
+    @Query(LIKE_DTO + "FROM Like l WHERE l.post.id = :postId " +
+           "AND (l.likedDate < :likedDate OR (l.likedDate = :likedDate AND l.id < :likeId)) " +
+           "ORDER BY l.likedDate DESC, l.id DESC")
+    List<LikeDTO> findPageBefore(@Param("postId") Long postId,
+                                 @Param("likedDate") Timestamp likedDate,
+                                 @Param("likeId") Long likeId,
+                                 Pageable pageable);
+
+    @Query("SELECT l.post.id, COUNT(l) FROM Like l WHERE l.post.id IN :postIds GROUP BY l.post.id")
+    List<Object[]> countGroupedByPostIds(@Param("postIds") Collection<Long> postIds);
 }
\ No newline at end of file
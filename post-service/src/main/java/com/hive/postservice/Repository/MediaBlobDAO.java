@@ -0,0 +1,33 @@
+package com.hive.postservice.Repository;
+
+import com.hive.postservice.Entity.MediaBlob;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MediaBlobDAO extends JpaRepository<MediaBlob, String> {
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO media_blob (media_key, size, ref_count, created_on) VALUES (:mediaKey, :size, 1, now()) " +
+                   "ON CONFLICT (media_key) DO UPDATE SET ref_count = media_blob.ref_count + 1", nativeQuery = true)
+    void upsertReference(@Param("mediaKey") String mediaKey, @Param("size") Long size);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MediaBlob m SET m.refCount = m.refCount + 1 WHERE m.mediaKey = :mediaKey")
+    int incrementReference(@Param("mediaKey") String mediaKey);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MediaBlob m SET m.refCount = m.refCount - 1 WHERE m.mediaKey = :mediaKey AND m.refCount > 0")
+    int decrementReference(@Param("mediaKey") String mediaKey);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MediaBlob m WHERE m.mediaKey = :mediaKey AND m.refCount <= 0")
+    int deleteIfUnreferenced(@Param("mediaKey") String mediaKey);
+}
@@ -0,0 +1,34 @@
+package com.hive.postservice.Repository;
+
+import com.hive.postservice.Entity.NotificationOutbox;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxDAO extends JpaRepository<NotificationOutbox, Long> {
+    //Marks a batch in flight in its own short transaction. Rows locked by another relay instance are skipped, not
+    //waited on; rows whose claim is older than staleBefore belong to a relay that died mid-send and are taken over
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE notification_outbox SET claim_token = :token, claimed_at = :now WHERE id IN (" +
+                   "SELECT id FROM notification_outbox WHERE claim_token IS NULL OR claimed_at < :staleBefore " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int claimBatch(@Param("token") String token,
+                   @Param("now") Timestamp now,
+                   @Param("staleBefore") Timestamp staleBefore,
+                   @Param("limit") Integer limit);
+
+    List<NotificationOutbox> findByClaimTokenOrderById(String claimToken);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.claimToken = null, o.claimedAt = null WHERE o.claimToken = :token")
+    int releaseClaim(@Param("token") String token);
+}
@@ -0,0 +1,22 @@
+package com.hive.postservice.Repository;
+
+import com.hive.postservice.Entity.PostCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PostCounterDAO extends JpaRepository<PostCounter, Long> {
+    @Modifying
+    @Query(value = "INSERT INTO post_counter (post_id, like_count, comment_count) VALUES (:postId, :likes, :comments) " +
+                   "ON CONFLICT (post_id) DO UPDATE SET like_count = GREATEST(post_counter.like_count + EXCLUDED.like_count, 0), " +
+                   "comment_count = GREATEST(post_counter.comment_count + EXCLUDED.comment_count, 0)", nativeQuery = true)
+    void addDeltas(@Param("postId") Long postId, @Param("likes") Long likes, @Param("comments") Long comments);
+
+    @Modifying
+    @Query(value = "INSERT INTO post_counter (post_id, like_count, comment_count) VALUES (:postId, :likes, :comments) " +
+                   "ON CONFLICT (post_id) DO NOTHING", nativeQuery = true)
+    void seed(@Param("postId") Long postId, @Param("likes") Long likes, @Param("comments") Long comments);
+}
@@ -1,33 +1,150 @@
 package com.hive.postservice.Repository;
 
+import com.hive.postservice.DTO.PostDTO;
+import com.hive.postservice.DTO.PostGridItemDTO;
+import com.hive.postservice.DTO.PostMediaView;
 import com.hive.postservice.Entity.Post;
-import com.hive.postservice.Utility.PostType;
+import com.hive.postservice.Utility.MediaStatus;
+import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PostDAO extends JpaRepository<Post, Long> {
-    @Query(value = "SELECT p FROM Post p ORDER BY RANDOM()")
-    List<Post> findRandomPosts(Pageable pageable);
-    List<Post> findByUserId(Long userId, Sort sort);
-    List<Post> findUsersByDescriptionContainingIgnoreCase(String search);
-
-    //When Post Type is All and createdOn
-    Page<Post> findByCreatedOn(Timestamp createdOn, Pageable pageable);
-    Page<Post> findByCreatedOnBetween(Timestamp startDate, Timestamp endDate, Pageable pageable);
-
-    //When createdOn is All and Post Type
-    Page<Post> findByPostType(PostType postType, Pageable pageable);
-
-    //When createdOn and Post Type
-    Page<Post> findByPostTypeAndCreatedOn(PostType postType, Timestamp createdOn, Pageable pageable);
-    Page<Post> findByPostTypeAndCreatedOnBetween(PostType postType, Timestamp startDate, Timestamp endDate, Pageable pageable);
+public interface PostDAO extends JpaRepository<Post, Long>, JpaSpecificationExecutor<Post>, PostFilterDAO {
+    //Read model : the PostDTO columns only, no managed Post. Null media status is a pre-pipeline row, served as READY
+    String POST_DTO = "SELECT new com.hive.postservice.DTO.PostDTO(p.id, p.description, p.fileName, p.fileType, " +
+                      "p.filePath, p.aspectRatio, p.createdOn, p.userId, p.isBlocked, p.postType, " +
+                      "COALESCE(p.mediaStatus, com.hive.postservice.Utility.MediaStatus.READY)) ";
+
+    @Query("SELECT p.id FROM Post p WHERE p.isBlocked = false AND p.isDeleted = false ORDER BY p.id")
+    List<Long> findDiscoverablePostIds();
+
+    @Query(POST_DTO + "FROM Post p WHERE p.id = :postId")
+    Optional<PostDTO> findDTOById(@Param("postId") Long postId);
+
+    @Query(POST_DTO + "FROM Post p WHERE p.id IN :postIds")
+    List<PostDTO> findDTOsByIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Query(POST_DTO + "FROM Post p WHERE p.id IN :postIds AND p.isBlocked = false AND p.isDeleted = false")
+    List<PostDTO> findUnblockedDTOsByIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Query(value = POST_DTO + "FROM Post p", countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<PostDTO> findDTOPage(Pageable pageable);
+
+    @Query(POST_DTO + "FROM Post p WHERE p.userId = :userId ORDER BY p.createdOn DESC")
+    List<PostDTO> findDTOsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT p.mediaKey AS mediaKey, p.thumbnailKey AS thumbnailKey, p.previewKey AS previewKey, " +
+           "p.filePath AS filePath FROM Post p WHERE p.id = :postId")
+    Optional<PostMediaView> findMediaById(@Param("postId") Long postId);
+
+    List<Post> findByMediaStatusAndMediaClaimedBy(MediaStatus mediaStatus, String mediaClaimedBy);
+
+    //? SKIP LOCKED : instances sweeping at the same time split the rows instead of both taking them
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE post SET media_claimed_by = :owner, media_claimed_at = :now WHERE id IN (" +
+                   "SELECT id FROM post WHERE media_status = 'PROCESSING' AND is_deleted = false " +
+                   "AND (media_claimed_by IS NULL OR media_claimed_at < :staleBefore) " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int claimPendingMedia(@Param("owner") String owner,
+                          @Param("now") Timestamp now,
+                          @Param("staleBefore") Timestamp staleBefore,
+                          @Param("limit") Integer limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.mediaClaimedBy = null, p.mediaClaimedAt = null WHERE p.id = :postId")
+    int releaseMediaClaim(@Param("postId") Long postId);
+
+    //[postId, userId]
+    @Query("SELECT p.id, p.userId FROM Post p WHERE p.id IN :postIds")
+    List<Object[]> findOwners(@Param("postIds") Collection<Long> postIds);
+
+    //[postId, liked, commented] for one user over a page of posts
+    @Query("SELECT p.id, " +
+           "CASE WHEN EXISTS (SELECT 1 FROM Like l WHERE l.post.id = p.id AND l.userId = :userId) THEN true ELSE false END, " +
+           "CASE WHEN EXISTS (SELECT 1 FROM Comment c WHERE c.post.id = p.id AND c.userId = :userId) THEN true ELSE false END " +
+           "FROM Post p WHERE p.id IN :postIds")
+    List<Object[]> findEngagementFlags(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.filePath = :filePath, p.mediaKey = :mediaKey, p.thumbnailKey = :thumbnailKey, " +
+           "p.previewKey = :previewKey, p.mediaStatus = :mediaStatus WHERE p.id = :postId AND p.isDeleted = false")
+    int updateMedia(@Param("postId") Long postId,
+                    @Param("filePath") String filePath,
+                    @Param("mediaKey") String mediaKey,
+                    @Param("thumbnailKey") String thumbnailKey,
+                    @Param("previewKey") String previewKey,
+                    @Param("mediaStatus") MediaStatus mediaStatus);
+
+    //[postId, rank, highlight] ranked by ts_rank, keyset on (rank, id), headline only for the page that is returned
+    @Query(value = "SELECT m.id, m.rank, ts_headline('simple', p.description, to_tsquery('simple', :query), " +
+                   "'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=30, MinWords=10') " +
+                   "FROM (SELECT p.id, ts_rank(p.search_vector, to_tsquery('simple', :query)) AS rank FROM post p " +
+                   "      WHERE p.search_vector @@ to_tsquery('simple', :query) AND p.is_deleted = false) m " +
+                   "JOIN post p ON p.id = m.id " +
+                   "WHERE m.rank < CAST(:rank AS real) OR (m.rank = CAST(:rank AS real) AND m.id < :postId) " +
+                   "ORDER BY m.rank DESC, m.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> searchByDescription(@Param("query") String query,
+                                       @Param("rank") Float rank,
+                                       @Param("postId") Long postId,
+                                       @Param("limit") Integer limit);
+
+    //Feed pull path for high fan-out authors
+    @Query(POST_DTO + "FROM Post p WHERE p.userId IN :userIds AND p.isBlocked = false " +
+           "AND (p.createdOn < :createdOn OR (p.createdOn = :createdOn AND p.id < :postId)) " +
+           "ORDER BY p.createdOn DESC, p.id DESC")
+    List<PostDTO> findFeedPageByUserIds(@Param("userIds") Collection<Long> userIds,
+                                        @Param("createdOn") Timestamp createdOn,
+                                        @Param("postId") Long postId,
+                                        Pageable pageable);
+
+    //Keyset pages, newest first : (createdOn, id) strictly before the cursor
+    @Query(POST_DTO + "FROM Post p WHERE p.userId = :userId " +
+           "AND (p.createdOn < :createdOn OR (p.createdOn = :createdOn AND p.id < :postId)) " +
+           "ORDER BY p.createdOn DESC, p.id DESC")
+    List<PostDTO> findUserPageBefore(@Param("userId") Long userId,
+                                     @Param("createdOn") Timestamp createdOn,
+                                     @Param("postId") Long postId,
+                                     Pageable pageable);
+
+    Long countByUserId(Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.isDeleted = true WHERE p.id = :postId")
+    int markDeleted(@Param("postId") Long postId);
+
+    //Native : the entity restriction hides soft-deleted rows from JPQL. Same predicate as idx_post_deleted, so the
+    //planner can use the partial index
+    @Query(value = "SELECT id FROM post WHERE is_deleted ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findDeletedPostIds(@Param("limit") Integer limit);
+
+    @Query("SELECT p.userId FROM Post p WHERE p.id = :postId")
+    Optional<Long> findUserIdById(@Param("postId") Long postId);
+
+    //Profile grid tiles, only the columns a tile needs
+    //Slot 2 carries the thumbnail key, ProfileGridService turns it into the files URL
+    @Query("SELECT new com.hive.postservice.DTO.PostGridItemDTO(p.id, p.thumbnailKey, p.postType, p.aspectRatio, " +
+           "p.mediaStatus, p.createdOn) FROM Post p WHERE p.userId = :userId AND p.isBlocked = false " +
+           "AND (p.createdOn < :createdOn OR (p.createdOn = :createdOn AND p.id < :postId)) " +
+           "ORDER BY p.createdOn DESC, p.id DESC")
+    List<PostGridItemDTO> findGridPage(@Param("userId") Long userId,
+                                       @Param("createdOn") Timestamp createdOn,
+                                       @Param("postId") Long postId,
+                                       Pageable pageable);
 }
\ No newline at end of file
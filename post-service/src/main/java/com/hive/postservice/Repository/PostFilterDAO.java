@@ -0,0 +1,12 @@
+package com.hive.postservice.Repository;
+
+import com.hive.postservice.DTO.PostDTO;
+import com.hive.postservice.Entity.Post;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface PostFilterDAO {
+    List<PostDTO> findFiltered(Specification<Post> spec, Sort sort, long offset, int limit);
+}
@@ -0,0 +1,44 @@
+package com.hive.postservice.Repository;
+
+import com.hive.postservice.DTO.PostDTO;
+import com.hive.postservice.Entity.Post;
+import com.hive.postservice.Utility.MediaStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+//? Specification query with an explicit offset / limit and no COUNT, JpaSpecificationExecutor always counts for a Page.
+//? Selects the PostDTO read model (same columns as PostDAO.POST_DTO), so no Post entity is managed for a filter page.
+public class PostFilterDAOImpl implements PostFilterDAO {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PostDTO> findFiltered(Specification<Post> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PostDTO> query = cb.createQuery(PostDTO.class);
+        Root<Post> root = query.from(Post.class);
+        query.select(cb.construct(PostDTO.class,
+                root.get("id"), root.get("description"), root.get("fileName"), root.get("fileType"),
+                root.get("filePath"), root.get("aspectRatio"), root.get("createdOn"), root.get("userId"),
+                root.get("isBlocked"), root.get("postType"),
+                cb.coalesce(root.<MediaStatus>get("mediaStatus"), MediaStatus.READY)));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,93 @@
+package com.hive.postservice.Repository;
+
+import com.hive.postservice.DTO.PostFilter;
+import com.hive.postservice.Entity.Post;
+import com.hive.postservice.Utility.DateFilter;
+import com.hive.postservice.Utility.PageCursor;
+import com.hive.postservice.Utility.PostType;
+import com.hive.postservice.Utility.PostTypeFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+// Building blocks for PostFilter. Every filter is an optional AND term, new moderation filters only need a new term here.
+public final class PostSpecifications {
+
+    private PostSpecifications() { }
+
+    public static Specification<Post> fromFilter(PostFilter filter) {
+        Specification<Post> spec = Specification.where(null);
+        if (filter.getPostFile() != null && filter.getPostFile() != PostTypeFilter.ALL) {
+            spec = spec.and(hasPostType(toPostType(filter.getPostFile())));
+        }
+        if (filter.getDateFilter() != null && filter.getDateFilter() != DateFilter.ALL) {
+            LocalDate[] days = resolveDays(filter);
+            spec = spec.and(createdOnDays(days[0], days[1]));
+        }
+        if (filter.getIsBlocked() != null) {
+            spec = spec.and(isBlocked(filter.getIsBlocked()));
+        }
+        if (filter.getUserId() != null) {
+            spec = spec.and(byUser(filter.getUserId()));
+        }
+        return spec;
+    }
+
+    public static Specification<Post> hasPostType(PostType postType) {
+        return (root, query, cb) -> cb.equal(root.get("postType"), postType);
+    }
+
+    //? Whole days : [firstDay 00:00, lastDay + 1 00:00), so a single day is a range and not an exact instant
+    public static Specification<Post> createdOnDays(LocalDate firstDay, LocalDate lastDay) {
+        Timestamp start = Timestamp.valueOf(firstDay.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(lastDay.plusDays(1).atStartOfDay());
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("createdOn"), start),
+                cb.lessThan(root.get("createdOn"), end));
+    }
+
+    public static Specification<Post> isBlocked(Boolean isBlocked) {
+        return (root, query, cb) -> cb.equal(root.get("isBlocked"), isBlocked);
+    }
+
+    public static Specification<Post> byUser(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("userId"), userId);
+    }
+
+    //? Keyset for newest first ordering : (createdOn, id) strictly before the cursor
+    public static Specification<Post> before(PageCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdOn"), cursor.createdOn()),
+                cb.and(cb.equal(root.get("createdOn"), cursor.createdOn()), cb.lessThan(root.get("id"), cursor.id())));
+    }
+
+    public static PostType toPostType(PostTypeFilter postTypeFilter) {
+        if (PostTypeFilter.IMAGE_BASED == postTypeFilter){
+            return PostType.IMAGE;
+        }
+        else if (PostTypeFilter.VIDEO_BASED == postTypeFilter){
+            return PostType.VIDEO;
+        }
+        return PostType.TEXT_ONLY;
+    }
+
+    //? Dates sent by the client win, otherwise the preset is resolved against today. Package-private for tests
+    static LocalDate[] resolveDays(PostFilter filter) {
+        if (filter.getStartingDate() != null) {
+            LocalDate first = filter.getStartingDate().toLocalDate();
+            LocalDate last = filter.getEndingDate() != null ? filter.getEndingDate().toLocalDate() : first;
+            return new LocalDate[]{ first, last };
+        }
+        LocalDate today = LocalDate.now();
+        return switch (filter.getDateFilter()) {
+            case THIS_WEEK -> new LocalDate[]{ today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), today };
+            case THIS_MONTH -> new LocalDate[]{ today.withDayOfMonth(1), today };
+            case THIS_YEAR -> new LocalDate[]{ today.withDayOfYear(1), today };
+            case TODAY -> new LocalDate[]{ today, today };
+            default -> throw new RuntimeException("[PostSpecifications] Dates are required for " + filter.getDateFilter());
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.DTO.CommentDTO;
+import com.hive.postservice.DTO.CursorPage;
+
+public interface CommentThreadService {
+    CursorPage<CommentDTO> getPage(Long postId, String cursor, Integer pageSize);
+    Integer firstPageSize();
+    void evict(Long postId);
+}
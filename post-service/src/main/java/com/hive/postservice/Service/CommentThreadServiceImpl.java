@@ -0,0 +1,82 @@
+package com.hive.postservice.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hive.postservice.DTO.CommentDTO;
+import com.hive.postservice.DTO.CursorPage;
+import com.hive.postservice.Repository.CommentDAO;
+import com.hive.postservice.Repository.PostDAO;
+import com.hive.postservice.Utility.AfterCommit;
+import com.hive.postservice.Utility.CursorPages;
+import com.hive.postservice.Utility.PageCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+// Comment threads read page by page as CommentDTO projections, so neither Comment nor Post entities are loaded.
+// The first page of each post (newest FIRST-PAGE-SIZE comments) sits in a bounded LRU cache; smaller first pages
+// are cut from it, "load more" pages always go to the keyset query. Local writes evict after commit; entries also
+// expire after COMMENT.CACHE-TTL-MS, which bounds how stale a page can be on the other instances.
+@Service
+public class CommentThreadServiceImpl implements CommentThreadService {
+    private final CommentDAO commentDAO;
+    private final PostDAO postDAO;
+    private final Integer firstPageSize;
+    private final Cache<Long, List<CommentDTO>> firstPages;
+
+    public CommentThreadServiceImpl(CommentDAO commentDAO,
+                                    PostDAO postDAO,
+                                    @Value("${COMMENT.FIRST-PAGE-SIZE:50}") Integer firstPageSize,
+                                    @Value("${COMMENT.CACHE-SIZE:10000}") Long cacheSize,
+                                    @Value("${COMMENT.CACHE-TTL-MS:30000}") Long cacheTtlMs) {
+        this.commentDAO = commentDAO;
+        this.postDAO = postDAO;
+        this.firstPageSize = firstPageSize;
+        this.firstPages = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .build();
+    }
+
+    @Override
+    public CursorPage<CommentDTO> getPage(Long postId, String cursor, Integer requestedPageSize) {
+        int pageSize = CursorPages.pageSize(requestedPageSize);
+        if ((cursor == null || cursor.isBlank()) && pageSize <= firstPageSize) {
+            //? Holds firstPageSize + 1 rows when there is more behind the first page
+            List<CommentDTO> firstPage = firstPages.get(postId, this::loadFirstPage);
+            return toPage(firstPage, pageSize);
+        }
+        PageCursor position = PageCursor.decode(cursor);
+        List<CommentDTO> rows = commentDAO.findThreadPage(postId, position.createdOn(), position.id(),
+                                                          PageRequest.of(0, pageSize + 1));
+        return toPage(rows, pageSize);
+    }
+
+    @Override
+    public Integer firstPageSize() {
+        return firstPageSize;
+    }
+
+    @Override
+    public void evict(Long postId) {
+        firstPages.invalidate(postId);
+        //? Again after commit : a read between the two evictions may have cached the pre-commit page
+        AfterCommit.run(() -> firstPages.invalidate(postId));
+    }
+
+    private List<CommentDTO> loadFirstPage(Long postId) {
+        if (!postDAO.existsById(postId)) {
+            throw new RuntimeException("[getCommentsForPost] Invalid post id " + postId);
+        }
+        PageCursor start = PageCursor.start();
+        return List.copyOf(commentDAO.findThreadPage(postId, start.createdOn(), start.id(),
+                                                     PageRequest.of(0, firstPageSize + 1)));
+    }
+
+    private static CursorPage<CommentDTO> toPage(List<CommentDTO> rows, int pageSize) {
+        return CursorPages.of(rows, pageSize, comment -> PageCursor.of(comment.getCommentedDate(), comment.getId()), null);
+    }
+}
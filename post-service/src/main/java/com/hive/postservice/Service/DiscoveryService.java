@@ -0,0 +1,9 @@
+package com.hive.postservice.Service;
+
+import java.util.List;
+
+public interface DiscoveryService {
+    String newSeed();
+    List<Long> pagePostIds(String seed, Integer pageNo, Integer pageSize);
+    void refreshPostIds();
+}
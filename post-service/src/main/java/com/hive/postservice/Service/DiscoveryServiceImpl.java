@@ -0,0 +1,130 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.Repository.PostDAO;
+import com.hive.postservice.Utility.CursorPages;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * Random discovery without ORDER BY RANDOM().
+ * Every DISCOVERY.REFRESH-MS the ids of all discoverable posts are loaded into a sorted array, so the permutation runs
+ * over dense ordinals and not over the raw id range (identity gaps and purged posts would leave pages short or
+ * empty while later pages still had posts). A seed carries the largest id and the number of ids when it was issued
+ * plus a random key. Page n is positions [n * size, (n + 1) * size) of a key-driven permutation of [0, count)
+ * (a 4 round Feistel network, cycle-walked down to count), each position looked up among the ids <= that largest
+ * id. Posts created later never shift the order; every instance serves the same pages as long as their snapshots
+ * agree, and one that has seen a post disappear shifts only the ordinals behind it.
+ */
+@Service
+@RequiredArgsConstructor
+public class DiscoveryServiceImpl implements DiscoveryService {
+    private static final Logger log = LoggerFactory.getLogger(DiscoveryServiceImpl.class);
+    private static final int ROUNDS = 4;
+    private final PostDAO postDAO;
+    private volatile long[] postIds = new long[0];
+
+    @Override
+    public String newSeed() {
+        long[] ids = postIds;
+        long maxId = ids.length == 0 ? 0 : ids[ids.length - 1];
+        return maxId + "." + ids.length + "." + Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+
+    @Override
+    public List<Long> pagePostIds(String seed, Integer pageNo, Integer pageSize) {
+        if (pageNo == null || pageNo < 0 || pageSize == null || pageSize <= 0) {
+            throw new RuntimeException("[pagePostIds] Invalid page " + pageNo + " of size " + pageSize);
+        }
+        if (seed == null || seed.isBlank()) {
+            seed = newSeed();
+        }
+        long maxId, count, key;
+        try {
+            String[] parts = seed.split("\\.");
+            maxId = Long.parseLong(parts[0]);
+            count = Long.parseLong(parts[1]);
+            key = Long.parseUnsignedLong(parts[2], 16);
+        }
+        catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new RuntimeException("[pagePostIds] Invalid discovery seed " + seed);
+        }
+
+        long[] ids = postIds;
+        //? Only the ids the seed knew about : those <= maxId, at most count of them
+        long known = Math.min(upperBound(ids, maxId), count);
+        int size = Math.min(pageSize, CursorPages.MAX_PAGE_SIZE);
+        long from = (long) pageNo * size;
+        if (count <= 0 || from >= count) {
+            return List.of();
+        }
+        long to = Math.min(from + size, count);
+        List<Long> page = new ArrayList<>((int) (to - from));
+        for (long position = from; position < to; position++) {
+            long ordinal = permute(position, count, key);
+            if (ordinal < known) {
+                page.add(ids[(int) ordinal]);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${DISCOVERY.REFRESH-MS:60000}")
+    public void refreshPostIds() {
+        List<Long> ids = postDAO.findDiscoverablePostIds();
+        long[] sorted = new long[ids.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = ids.get(i);
+        }
+        postIds = sorted;
+        log.debug("[refreshPostIds] {} discoverable posts", sorted.length);
+    }
+
+    //? Number of ids <= maxId
+    private static int upperBound(long[] ids, long maxId) {
+        int low = 0, high = ids.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] <= maxId) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    //? Bijection on [0, size) : Feistel over the smallest even-bit domain >= size, re-applied until inside the range
+    static long permute(long position, long size, long key) {
+        int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(size - 1));
+        int halfBits = (bits + 1) / 2;
+        long mask = (1L << halfBits) - 1;
+        long value = position;
+        do {
+            long left = value >>> halfBits;
+            long right = value & mask;
+            for (int round = 0; round < ROUNDS; round++) {
+                long next = left ^ (mix(key + round * 0x9e3779b97f4a7c15L ^ right) & mask);
+                left = right;
+                right = next;
+            }
+            value = (left << halfBits) | right;
+        } while (value >= size);
+        return value;
+    }
+
+    //? SplitMix64 finalizer, spreads nearby seeds apart
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
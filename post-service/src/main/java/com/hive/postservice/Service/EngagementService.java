@@ -0,0 +1,15 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.DTO.EngagementStateDTO;
+
+import java.util.List;
+
+public interface EngagementService {
+    List<EngagementStateDTO> getEngagementState(Long userId, List<Long> postIds);
+    Boolean isLiked(Long userId, Long postId);
+    void onLikeChanged(Long userId, Long postId, boolean liked);
+    void evictLike(Long userId, Long postId);
+    void onCommentAdded(Long userId, Long postId);
+    void onCommentRemoved(Long userId, Long postId);
+    void evictPost(Long postId);
+}
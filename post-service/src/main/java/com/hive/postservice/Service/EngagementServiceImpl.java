@@ -0,0 +1,138 @@
+package com.hive.postservice.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hive.postservice.DTO.EngagementStateDTO;
+import com.hive.postservice.DTO.PostCountDTO;
+import com.hive.postservice.Repository.PostDAO;
+import com.hive.postservice.Utility.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+
+// Liked / commented flags for one user across a page of posts : cached per (user, post), misses resolved with a
+// single set-based query, counts come from the post_counter batch read. Entries expire ENGAGEMENT.CACHE-TTL-MS after
+// they were written, which bounds how long a change made through another instance goes unseen here.
+@Service
+public class EngagementServiceImpl implements EngagementService {
+    private final PostDAO postDAO;
+    private final PostCounterService postCounterService;
+    private final Cache<EngagementKey, Flags> recentEngagement;
+
+    public EngagementServiceImpl(PostDAO postDAO,
+                                 PostCounterService postCounterService,
+                                 @Value("${ENGAGEMENT.CACHE-SIZE:200000}") Long cacheSize,
+                                 @Value("${ENGAGEMENT.CACHE-TTL-MS:300000}") Long cacheTtlMs) {
+        this.postDAO = postDAO;
+        this.postCounterService = postCounterService;
+        this.recentEngagement = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .build();
+    }
+
+    @Override
+    public List<EngagementStateDTO> getEngagementState(Long userId, List<Long> postIds) {
+        if (postIds == null || postIds.isEmpty()) {
+            return List.of();
+        }
+        List<Long> distinctIds = postIds.stream().distinct().toList();
+        Map<Long, Flags> flags = resolveFlags(userId, distinctIds);
+
+        Map<Long, PostCountDTO> counts = new HashMap<>();
+        postCounterService.getCounts(distinctIds).forEach(count -> counts.put(count.getPostId(), count));
+
+        List<EngagementStateDTO> states = new ArrayList<>(distinctIds.size());
+        for (Long postId : distinctIds) {
+            Flags flag = flags.get(postId);
+            PostCountDTO count = counts.get(postId);
+            if (flag == null || count == null) {
+                continue;
+            }
+            states.add(EngagementStateDTO.builder()
+                    .postId(postId)
+                    .liked(flag.liked())
+                    .commented(flag.commented())
+                    .likeCount(count.getLikeCount())
+                    .commentCount(count.getCommentCount())
+                    .build());
+        }
+        return states;
+    }
+
+    @Override
+    public Boolean isLiked(Long userId, Long postId) {
+        Flags flags = resolveFlags(userId, List.of(postId)).get(postId);
+        if (flags == null) {
+            throw new RuntimeException("[isLiked] Invalid post id " + postId);
+        }
+        return flags.liked();
+    }
+
+    @Override
+    public void onLikeChanged(Long userId, Long postId, boolean liked) {
+        EngagementKey key = new EngagementKey(userId, postId);
+        Flags current = recentEngagement.getIfPresent(key);
+        if (current != null) {
+            recentEngagement.put(key, new Flags(liked, current.commented()));
+        }
+    }
+
+    @Override
+    public void evictLike(Long userId, Long postId) {
+        recentEngagement.invalidate(new EngagementKey(userId, postId));
+    }
+
+    @Override
+    public void onCommentAdded(Long userId, Long postId) {
+        EngagementKey key = new EngagementKey(userId, postId);
+        Flags current = recentEngagement.getIfPresent(key);
+        if (current != null) {
+            recentEngagement.put(key, new Flags(current.liked(), true));
+        }
+    }
+
+    @Override
+    public void onCommentRemoved(Long userId, Long postId) {
+        //? The user may have other comments on the post, so the flag is reloaded rather than cleared
+        EngagementKey key = new EngagementKey(userId, postId);
+        recentEngagement.invalidate(key);
+        //? Again after commit : a read between the two evictions may have cached the pre-commit flags
+        AfterCommit.run(() -> recentEngagement.invalidate(key));
+    }
+
+    @Override
+    public void evictPost(Long postId) {
+        //? Post deletion only, rare enough that a scan is cheaper than a secondary index
+        recentEngagement.asMap().keySet().removeIf(key -> key.postId().equals(postId));
+    }
+
+    private Map<Long, Flags> resolveFlags(Long userId, List<Long> postIds) {
+        Map<Long, Flags> flags = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long postId : postIds) {
+            Flags cached = recentEngagement.getIfPresent(new EngagementKey(userId, postId));
+            if (cached != null) {
+                flags.put(postId, cached);
+            }
+            else {
+                misses.add(postId);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (Object[] row : postDAO.findEngagementFlags(userId, misses)) {
+                Long postId = (Long) row[0];
+                Flags loaded = new Flags((Boolean) row[1], (Boolean) row[2]);
+                recentEngagement.put(new EngagementKey(userId, postId), loaded);
+                flags.put(postId, loaded);
+            }
+        }
+        return flags;
+    }
+
+    private record EngagementKey(Long userId, Long postId) { }
+
+    private record Flags(Boolean liked, Boolean commented) { }
+}
@@ -0,0 +1,13 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.DTO.PostDTO;
+import com.hive.postservice.Entity.Post;
+import com.hive.postservice.Utility.PageCursor;
+
+import java.util.List;
+
+public interface FeedService {
+    void fanOut(Post post);
+    List<PostDTO> readFeed(Long userId, PageCursor cursor, int limit);
+    void removePost(Long postId);
+}
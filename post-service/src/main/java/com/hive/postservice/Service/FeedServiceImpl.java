@@ -0,0 +1,146 @@
+package com.hive.postservice.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hive.postservice.DTO.PostDTO;
+import com.hive.postservice.Entity.FeedEntry;
+import com.hive.postservice.Entity.HighFanoutAuthor;
+import com.hive.postservice.Entity.Post;
+import com.hive.postservice.FeignClientConfig.UserInterface;
+import com.hive.postservice.Repository.FeedEntryDAO;
+import com.hive.postservice.Repository.HighFanoutAuthorDAO;
+import com.hive.postservice.Repository.PostDAO;
+import com.hive.postservice.Utility.AfterCommit;
+import com.hive.postservice.Utility.PageCursor;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/*
+ * Hybrid home feed.
+ *  - Fan-out-on-write : every new post is copied into the author's and each friend's feed_entry timeline,
+ *    so a feed page is one indexed range scan on (owner_id, created_on, post_id).
+ *  - Fan-out-on-read  : authors with more friends than FEED.FANOUT-THRESHOLD are only written to their own
+ *    timeline and flagged in feed_high_fanout_author; readers merge those authors' posts in at read time.
+ *    Which of those authors a viewer follows is cached per viewer for FEED.PULL-AUTHORS-TTL-MS, so a page
+ *    does not pay for the author list and the friends call every time.
+ */
+@Service
+@RequiredArgsConstructor
+public class FeedServiceImpl implements FeedService {
+    private static final Logger log = LoggerFactory.getLogger(FeedServiceImpl.class);
+    private static final Comparator<PostDTO> FEED_ORDER = Comparator
+            .comparing(PostDTO::getCreatedOn)
+            .thenComparing(PostDTO::getId)
+            .reversed();
+    @Value("${FEED.FANOUT-THRESHOLD:1000}")
+    private Integer fanoutThreshold;
+    @Value("${FEED.PULL-AUTHORS-TTL-MS:60000}")
+    private Long pullAuthorsTtlMs;
+    @Value("${FEED.PULL-AUTHORS-CACHE-SIZE:100000}")
+    private Long pullAuthorsCacheSize;
+    private Cache<Long, List<Long>> pullAuthorsByViewer;
+    private final FeedEntryDAO feedEntryDAO;
+    private final HighFanoutAuthorDAO highFanoutAuthorDAO;
+    private final PostDAO postDAO;
+    private final UserInterface userInterface;
+
+    @PostConstruct
+    void initPullAuthorsCache() {
+        pullAuthorsByViewer = Caffeine.newBuilder()
+                .maximumSize(pullAuthorsCacheSize)
+                .expireAfterWrite(Duration.ofMillis(pullAuthorsTtlMs))
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void fanOut(Post post) {
+        Long authorId = post.getUserId();
+        List<Long> friendIds = Optional.ofNullable(userInterface.getUserFriendsIds(authorId).getBody()).orElse(List.of());
+
+        Set<Long> owners = new LinkedHashSet<>();
+        owners.add(authorId);
+        //? Once flagged an author stays on the pull path, otherwise older posts would vanish from friends' feeds
+        boolean flagged = highFanoutAuthorDAO.existsById(authorId);
+        if (friendIds.size() > fanoutThreshold || flagged) {
+            if (!flagged) {
+                //? A new pull author changes every viewer's list, other instances catch up within the TTL
+                AfterCommit.run(pullAuthorsByViewer::invalidateAll);
+            }
+            highFanoutAuthorDAO.save(HighFanoutAuthor.builder()
+                    .userId(authorId)
+                    .friendCount(friendIds.size())
+                    .markedOn(Timestamp.from(Instant.now()))
+                    .build());
+            log.debug("[fanOut] Author {} uses fan-out-on-read ({} friends)", authorId, friendIds.size());
+        }
+        else {
+            owners.addAll(friendIds);
+        }
+
+        List<FeedEntry> entries = new ArrayList<>(owners.size());
+        for (Long ownerId : owners) {
+            entries.add(FeedEntry.builder()
+                    .ownerId(ownerId)
+                    .postId(post.getId())
+                    .authorId(authorId)
+                    .createdOn(post.getCreatedOn())
+                    .build());
+        }
+        feedEntryDAO.saveAll(entries);
+    }
+
+    @Override
+    public List<PostDTO> readFeed(Long userId, PageCursor cursor, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<PostDTO> posts = feedEntryDAO.findFeedPage(userId, cursor.createdOn(), cursor.id(), page);
+
+        List<Long> pullAuthors = pullAuthorsFor(userId);
+        if (pullAuthors.isEmpty()) {
+            return posts;
+        }
+
+        Map<Long, PostDTO> merged = new HashMap<>();
+        posts.forEach(post -> merged.put(post.getId(), post));
+        postDAO.findFeedPageByUserIds(pullAuthors, cursor.createdOn(), cursor.id(), page)
+                .forEach(post -> merged.putIfAbsent(post.getId(), post));
+        return merged.values()
+                .stream()
+                .sorted(FEED_ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void removePost(Long postId) {
+        feedEntryDAO.deleteByPostId(postId);
+    }
+
+    private List<Long> pullAuthorsFor(Long userId) {
+        return pullAuthorsByViewer.get(userId, this::loadPullAuthors);
+    }
+
+    private List<Long> loadPullAuthors(Long userId) {
+        List<Long> highFanoutAuthors = highFanoutAuthorDAO.findAllUserIds();
+        if (highFanoutAuthors.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> following = new HashSet<>(
+                Optional.ofNullable(userInterface.getUserFriendsIds(userId).getBody()).orElse(List.of())
+        );
+        following.add(userId);
+        return highFanoutAuthors.stream().filter(following::contains).toList();
+    }
+}
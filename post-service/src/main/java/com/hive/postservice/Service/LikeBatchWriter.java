@@ -0,0 +1,93 @@
+package com.hive.postservice.Service;
+
+import com.hive.Utility.NotificationType;
+import com.hive.postservice.Repository.PostDAO;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class LikeBatchWriter {
+    //? WHERE EXISTS : a post deleted while the like was queued must not fail the whole batch or be liked again
+    private static final String INSERT_LIKE = "INSERT INTO post_like (user_id, post_id, liked_date) " +
+            "SELECT ?, ?, ? WHERE EXISTS (SELECT 1 FROM post WHERE id = ? AND is_deleted = false) ON CONFLICT DO NOTHING";
+    private static final String DELETE_LIKE = "DELETE FROM post_like WHERE post_id = ? AND user_id = ?";
+    //? Only the first like of a (user, post) notifies : like / unlike / like across flushes must not notify (and feed
+    //? trending) again
+    private static final String MARK_NOTIFIED = "INSERT INTO like_notification (user_id, post_id, notified_on) " +
+            "VALUES (?, ?, ?) ON CONFLICT DO NOTHING";
+    private final JdbcTemplate jdbcTemplate;
+    private final PostDAO postDAO;
+    private final NotificationRelay notificationRelay;
+
+    //? Returns the like count delta per post, from the rows that really changed
+    @Transactional
+    public Map<Long, Long> apply(List<LikeToggle> toggles) {
+        List<LikeToggle> inserts = toggles.stream().filter(LikeToggle::liked).toList();
+        List<LikeToggle> deletes = toggles.stream().filter(toggle -> !toggle.liked()).toList();
+        Map<Long, Long> deltas = new HashMap<>();
+
+        int[] inserted = batchUpdate(INSERT_LIKE, inserts, (ps, toggle) -> {
+            ps.setLong(1, toggle.userId());
+            ps.setLong(2, toggle.postId());
+            ps.setTimestamp(3, toggle.requestedOn());
+            ps.setLong(4, toggle.postId());
+        });
+        List<LikeToggle> newLikes = new ArrayList<>();
+        for (int i = 0; i < inserts.size(); i++) {
+            if (inserted[i] > 0) {
+                newLikes.add(inserts.get(i));
+                deltas.merge(inserts.get(i).postId(), 1L, Long::sum);
+            }
+        }
+
+        int[] deleted = batchUpdate(DELETE_LIKE, deletes, (ps, toggle) -> {
+            ps.setLong(1, toggle.postId());
+            ps.setLong(2, toggle.userId());
+        });
+        for (int i = 0; i < deletes.size(); i++) {
+            if (deleted[i] > 0) {
+                deltas.merge(deletes.get(i).postId(), -1L, Long::sum);
+            }
+        }
+
+        int[] marked = batchUpdate(MARK_NOTIFIED, newLikes, (ps, toggle) -> {
+            ps.setLong(1, toggle.userId());
+            ps.setLong(2, toggle.postId());
+            ps.setTimestamp(3, toggle.requestedOn());
+        });
+        List<LikeToggle> firstLikes = new ArrayList<>();
+        for (int i = 0; i < newLikes.size(); i++) {
+            if (marked[i] > 0) {
+                firstLikes.add(newLikes.get(i));
+            }
+        }
+
+        if (!firstLikes.isEmpty()) {
+            Map<Long, Long> owners = new HashMap<>();
+            for (Object[] row : postDAO.findOwners(firstLikes.stream().map(LikeToggle::postId).distinct().toList())) {
+                owners.put((Long) row[0], (Long) row[1]);
+            }
+            for (LikeToggle like : firstLikes) {
+                notificationRelay.enqueue(like.userId(), owners.get(like.postId()), NotificationType.LIKE, like.postId(), null);
+            }
+        }
+        return deltas;
+    }
+
+    //? One JDBC batch, per row update counts (0 = conflict / nothing to delete)
+    private int[] batchUpdate(String sql, List<LikeToggle> toggles, ParameterizedPreparedStatementSetter<LikeToggle> setter) {
+        if (toggles.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(sql, toggles, toggles.size(), setter)[0];
+    }
+
+    public record LikeToggle(Long postId, Long userId, Boolean liked, Timestamp requestedOn) { }
+}
@@ -0,0 +1,12 @@
+package com.hive.postservice.Service;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface LikeService {
+    void like(Long userId, Long postId);
+    void unlike(Long userId, Long postId);
+    Boolean isLiked(Long userId, Long postId);
+    Map<Long, Boolean> pendingLikes(Long userId, Collection<Long> postIds);
+    void flush();
+}
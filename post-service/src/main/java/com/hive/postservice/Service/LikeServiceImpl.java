@@ -0,0 +1,137 @@
+package com.hive.postservice.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Like / unlike without a round trip per tap.
+ * A request only records the desired state for (post, user); repeated taps inside one flush window overwrite each
+ * other, so toggle spam collapses to the last state. The scheduled flush hands the window to LikeBatchWriter, which
+ * applies it as batched INSERT .. ON CONFLICT DO NOTHING / DELETE statements in one transaction. Counter deltas come
+ * from the rows that actually changed, so double taps and races between instances never double count.
+ */
+@Service
+@RequiredArgsConstructor
+public class LikeServiceImpl implements LikeService {
+    private static final Logger log = LoggerFactory.getLogger(LikeServiceImpl.class);
+    private final Map<LikeKey, PendingLike> pending = new ConcurrentHashMap<>();
+    private final LikeBatchWriter likeBatchWriter;
+    private final EngagementService engagementService;
+    private final PostCounterService postCounterService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void like(Long userId, Long postId) {
+        toggle(userId, postId, true);
+    }
+
+    @Override
+    public void unlike(Long userId, Long postId) {
+        toggle(userId, postId, false);
+    }
+
+    @Override
+    public Boolean isLiked(Long userId, Long postId) {
+        PendingLike queued = pending.get(new LikeKey(userId, postId));
+        if (queued != null) {
+            return queued.liked();
+        }
+        return engagementService.isLiked(userId, postId);
+    }
+
+    //? Toggles not flushed yet, they win over whatever the database and the engagement cache say
+    @Override
+    public Map<Long, Boolean> pendingLikes(Long userId, Collection<Long> postIds) {
+        Map<Long, Boolean> queued = new HashMap<>();
+        if (pending.isEmpty()) {
+            return queued;
+        }
+        for (Long postId : postIds) {
+            PendingLike like = pending.get(new LikeKey(userId, postId));
+            if (like != null) {
+                queued.put(postId, like.liked());
+            }
+        }
+        return queued;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${LIKE.FLUSH-MS:200}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<LikeBatchWriter.LikeToggle> batch = new ArrayList<>();
+        Map<LikeKey, PendingLike> drained = new HashMap<>();
+        for (LikeKey key : pending.keySet()) {
+            PendingLike queued = pending.remove(key);
+            if (queued != null) {
+                drained.put(key, queued);
+                batch.add(new LikeBatchWriter.LikeToggle(key.postId(), key.userId(), queued.liked(), queued.requestedOn()));
+            }
+        }
+        //? Same lock order on every instance
+        batch.sort(Comparator.comparing(LikeBatchWriter.LikeToggle::postId).thenComparing(LikeBatchWriter.LikeToggle::userId));
+
+        Map<Long, Long> likeDeltas;
+        try {
+            likeDeltas = likeBatchWriter.apply(batch);
+        }
+        catch (Exception e) {
+            //? Put the window back unless a newer tap already replaced it
+            drained.forEach(pending::putIfAbsent);
+            log.error("[flush] Unable to apply " + batch.size() + " like toggles, will retry : " + e.getMessage());
+            return;
+        }
+        likeDeltas.forEach(postCounterService::addLikes);
+        //? A read that missed the cache before the flush cached the old flag, the next one reloads the committed state
+        drained.keySet().forEach(key -> engagementService.evictLike(key.userId(), key.postId()));
+        log.debug("[flush] Applied {} like toggles", batch.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    //? Tables created before the constraint may hold double-tap duplicates : keep the oldest row, then constrain
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureUniqueLikes() {
+        try {
+            Integer existing = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pg_constraint WHERE conname = 'uk_like_post_user'", Integer.class);
+            if (existing != null && existing > 0) {
+                return;
+            }
+            int removed = jdbcTemplate.update("DELETE FROM post_like a USING post_like b " +
+                    "WHERE a.post_id = b.post_id AND a.user_id = b.user_id AND a.id > b.id");
+            jdbcTemplate.execute("ALTER TABLE post_like ADD CONSTRAINT uk_like_post_user UNIQUE (post_id, user_id)");
+            log.info("[ensureUniqueLikes] Removed " + removed + " duplicate likes and added uk_like_post_user");
+        }
+        catch (Exception e) {
+            log.error("[ensureUniqueLikes] Unable to add unique like constraint : " + e.getMessage());
+        }
+    }
+
+    //? Always queued : the engagement cache is per instance and may be stale, LikeBatchWriter is idempotent
+    //? (ON CONFLICT DO NOTHING / targeted DELETE, deltas from changed rows) and skips deleted posts
+    private void toggle(Long userId, Long postId, boolean liked) {
+        pending.put(new LikeKey(userId, postId), new PendingLike(liked, new Timestamp(System.currentTimeMillis())));
+        engagementService.onLikeChanged(userId, postId, liked);
+    }
+
+    private record LikeKey(Long userId, Long postId) { }
+
+    private record PendingLike(Boolean liked, Timestamp requestedOn) { }
+}
@@ -0,0 +1,117 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.Repository.MediaBlobDAO;
+import com.hive.postservice.Utility.MediaIoMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// Filesystem backend : <root>/ab/cd/abcd...ef.ext, two levels of 256 shards keep directories small.
+// Store and release for the same key are serialised by MediaBlobWriter (advisory lock per key) so a blob is never
+// deleted between another upload's reference increment and its existence check, on this instance or any other.
+@Service
+@ConditionalOnProperty(name = "MEDIA.STORE.TYPE", havingValue = "local", matchIfMissing = true)
+public class LocalMediaStore implements MediaStore {
+    private static final Logger log = LoggerFactory.getLogger(LocalMediaStore.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final MediaBlobDAO mediaBlobDAO;
+    private final MediaBlobWriter mediaBlobWriter;
+    private final MediaIoMetrics mediaIoMetrics;
+    private final Path root;
+
+    public LocalMediaStore(MediaBlobDAO mediaBlobDAO,
+                           MediaBlobWriter mediaBlobWriter,
+                           MediaIoMetrics mediaIoMetrics,
+                           @Value("${MEDIA.STORE.ROOT:${FOLDER.PATH}store/}") String root) {
+        this.mediaBlobDAO = mediaBlobDAO;
+        this.mediaBlobWriter = mediaBlobWriter;
+        this.mediaIoMetrics = mediaIoMetrics;
+        this.root = Path.of(root);
+    }
+
+    @Override
+    public String store(Path source, String extension) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long startNanos = System.nanoTime();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest)) {
+            while (in.read(buffer) != -1) {
+                //? Reading is enough, the digest stream hashes as it goes
+            }
+        }
+        long size = Files.size(source);
+        String mediaKey = commit(source, HexFormat.of().formatHex(digest.digest()), extension, size);
+        //? Hashing pass plus the move (or duplicate delete) into the store
+        mediaIoMetrics.record("write", size, startNanos);
+        return mediaKey;
+    }
+
+    @Override
+    public Path locate(String mediaKey) throws IOException {
+        Path path = pathFor(mediaKey);
+        if (!Files.isRegularFile(path)) {
+            throw new NoSuchFileException(path.toString());
+        }
+        return path;
+    }
+
+    @Override
+    public void retain(String mediaKey) {
+        mediaBlobDAO.incrementReference(mediaKey);
+    }
+
+    @Override
+    public void release(String mediaKey) throws IOException {
+        Path path = pathFor(mediaKey);
+        if (mediaBlobWriter.dropReference(mediaKey, () -> Files.deleteIfExists(path))) {
+            log.debug("[release] Media blob {} reclaimed", mediaKey);
+        }
+    }
+
+    private String commit(Path source, String hash, String extension, long size) throws IOException {
+        String mediaKey = extension == null || extension.isBlank() ? hash : hash + "." + extension.toLowerCase();
+        Path target = pathFor(mediaKey);
+        mediaBlobWriter.addReference(mediaKey, size, () -> {
+            if (Files.exists(target)) {
+                //? Duplicate content, the existing blob just gained a reference
+                Files.delete(source);
+            }
+            else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                catch (AtomicMoveNotSupportedException e) {
+                    Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        });
+        return mediaKey;
+    }
+
+    private Path pathFor(String mediaKey) {
+        if (mediaKey.length() < 4 || mediaKey.contains("/") || mediaKey.contains("\\") || mediaKey.contains("..")) {
+            throw new RuntimeException("[pathFor] Invalid media key " + mediaKey);
+        }
+        return root.resolve(mediaKey.substring(0, 2)).resolve(mediaKey.substring(2, 4)).resolve(mediaKey);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.Repository.MediaBlobDAO;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+// Reference changes and the file operation they cover run in one transaction under a per-key advisory lock, so
+// store/release of the same blob are serialised across every instance sharing the database, not just within one JVM.
+// The file is moved / deleted before the commit : a failed move rolls the reference back instead of leaking it.
+@Service
+@RequiredArgsConstructor
+public class MediaBlobWriter {
+    private final JdbcTemplate jdbcTemplate;
+    private final MediaBlobDAO mediaBlobDAO;
+
+    @Transactional(rollbackOn = IOException.class)
+    public void addReference(String mediaKey, long size, FileOperation placeFile) throws IOException {
+        lock(mediaKey);
+        mediaBlobDAO.upsertReference(mediaKey, size);
+        placeFile.run();
+    }
+
+    //? Returns true when this was the last reference and the blob is gone
+    @Transactional(rollbackOn = IOException.class)
+    public boolean dropReference(String mediaKey, FileOperation deleteFile) throws IOException {
+        lock(mediaKey);
+        mediaBlobDAO.decrementReference(mediaKey);
+        if (mediaBlobDAO.deleteIfUnreferenced(mediaKey) == 0) {
+            return false;
+        }
+        deleteFile.run();
+        return true;
+    }
+
+    //? Transaction scoped, released by the commit / rollback
+    private void lock(String mediaKey) {
+        jdbcTemplate.queryForObject("SELECT 1 FROM pg_advisory_xact_lock(hashtext(?))", Integer.class, mediaKey);
+    }
+
+    @FunctionalInterface
+    public interface FileOperation {
+        void run() throws IOException;
+    }
+}
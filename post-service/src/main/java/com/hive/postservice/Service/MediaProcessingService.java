@@ -0,0 +1,225 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.Entity.Post;
+import com.hive.postservice.Repository.PostDAO;
+import com.hive.postservice.Utility.MediaStatus;
+import com.hive.postservice.Utility.PostType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.*;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+// Upload -> staging file -> post row (PROCESSING) -> bounded worker pool -> variants + MediaStore -> READY
+// A PROCESSING row is claimed by the instance that took the upload. The resume sweep takes rows nobody owns or whose
+// owner has held them past MEDIA.CLAIM-STALE-MS (it died mid-job), so every instance can run it without doubling work.
+@Service
+public class MediaProcessingService {
+    private static final Logger log = LoggerFactory.getLogger(MediaProcessingService.class);
+    private static final int THUMBNAIL_SIZE = 320;
+    private static final int PREVIEW_SIZE = 1080;
+    private static final float JPEG_QUALITY = 0.8f;
+    private final PostDAO postDAO;
+    private final MediaStore mediaStore;
+    private final ProfileGridService profileGridService;
+    private final ThreadPoolTaskExecutor mediaExecutor;
+    private final Path stagingDir;
+    private final long claimStaleMs;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public MediaProcessingService(PostDAO postDAO,
+                                  MediaStore mediaStore,
+                                  ProfileGridService profileGridService,
+                                  @Qualifier("mediaExecutor") ThreadPoolTaskExecutor mediaExecutor,
+                                  @Value("${MEDIA.STAGING-PATH:${FOLDER.PATH}staging/}") String stagingPath,
+                                  @Value("${MEDIA.CLAIM-STALE-MS:1800000}") Long claimStaleMs) {
+        this.postDAO = postDAO;
+        this.mediaStore = mediaStore;
+        this.profileGridService = profileGridService;
+        this.mediaExecutor = mediaExecutor;
+        this.stagingDir = Path.of(stagingPath);
+        this.claimStaleMs = claimStaleMs;
+    }
+
+    public String instanceId() {
+        return instanceId;
+    }
+
+    public Path stage(MultipartFile file) throws IOException {
+        Files.createDirectories(stagingDir);
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss-SSS").format(Timestamp.from(Instant.now()));
+        Path staged = stagingDir.resolve(timestamp + "-" + Path.of(String.valueOf(file.getOriginalFilename())).getFileName());
+        //? Large parts are already on disk, transferTo is a rename rather than a copy through the heap
+        file.transferTo(staged);
+        return staged;
+    }
+
+    //? Throws TaskRejectedException when the pool and its queue are full
+    public void submit(Long postId, Path staged, PostType postType) {
+        mediaExecutor.execute(() -> process(postId, staged, postType));
+    }
+
+    @Scheduled(fixedDelayString = "${MEDIA.RESUME-MS:60000}")
+    public void resumePending() {
+        int capacity = mediaExecutor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        //? A fresh owner per sweep, so the rows read back are exactly the ones this sweep claimed
+        String owner = instanceId + "/" + UUID.randomUUID();
+        Instant now = Instant.now();
+        if (postDAO.claimPendingMedia(owner, Timestamp.from(now), Timestamp.from(now.minusMillis(claimStaleMs)), capacity) == 0) {
+            return;
+        }
+        for (Post post : postDAO.findByMediaStatusAndMediaClaimedBy(MediaStatus.PROCESSING, owner)) {
+            Path staged = post.getFilePath() == null ? null : Path.of(post.getFilePath());
+            if (staged == null || !Files.isRegularFile(staged)) {
+                postDAO.updateMedia(post.getId(), post.getFilePath(), null, null, null, MediaStatus.FAILED);
+                continue;
+            }
+            try {
+                submit(post.getId(), staged, post.getPostType());
+            }
+            catch (TaskRejectedException e) {
+                //? Uploads filled the queue meanwhile, the next sweep picks the row up again
+                postDAO.releaseMediaClaim(post.getId());
+            }
+        }
+        log.info("[resumePending] Resumed media processing claimed as {}", owner);
+    }
+
+    private void process(Long postId, Path staged, PostType postType) {
+        List<String> storedKeys = new ArrayList<>(3);
+        try {
+            String thumbnailKey = null;
+            String previewKey = null;
+            if (postType == PostType.IMAGE) {
+                Path thumbnail = staged.resolveSibling(staged.getFileName() + "-thumb.jpg");
+                Path preview = staged.resolveSibling(staged.getFileName() + "-" + PREVIEW_SIZE + ".jpg");
+                if (writeVariant(staged, thumbnail, THUMBNAIL_SIZE)) {
+                    thumbnailKey = mediaStore.store(thumbnail, "jpg");
+                    storedKeys.add(thumbnailKey);
+                }
+                if (writeVariant(staged, preview, PREVIEW_SIZE)) {
+                    previewKey = mediaStore.store(preview, "jpg");
+                    storedKeys.add(previewKey);
+                }
+            }
+            String mediaKey = mediaStore.store(staged, extensionOf(staged));
+            storedKeys.add(mediaKey);
+
+            String filePath = mediaStore.locate(mediaKey).toString();
+            if (postDAO.updateMedia(postId, filePath, mediaKey, thumbnailKey, previewKey, MediaStatus.READY) == 0) {
+                //? Post was deleted while processing
+                releaseAll(storedKeys);
+            }
+            else {
+                profileGridService.evictByPost(postId);
+            }
+        }
+        catch (Exception e) {
+            log.error("[process] Media processing failed for post id {}", postId, e);
+            releaseAll(storedKeys);
+            //? Once the store has moved the upload away the staging path points at nothing, don't record it
+            String filePath = Files.exists(staged) ? staged.toString() : null;
+            postDAO.updateMedia(postId, filePath, null, null, null, MediaStatus.FAILED);
+        }
+    }
+
+    private void releaseAll(List<String> mediaKeys) {
+        for (String mediaKey : mediaKeys) {
+            try {
+                mediaStore.release(mediaKey);
+            }
+            catch (IOException e) {
+                log.error("[releaseAll] Unable to release media {}", mediaKey, e);
+            }
+        }
+    }
+
+    private static String extensionOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 || dot == name.length() - 1 ? null : name.substring(dot + 1);
+    }
+
+    private boolean writeVariant(Path source, Path target, int maxSide) throws IOException {
+        BufferedImage image = readSubsampled(source, maxSide);
+        if (image == null) {
+            return false;
+        }
+        double scale = Math.min(1.0, (double) maxSide / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.drawImage(image, 0, 0, width, height, java.awt.Color.WHITE, null);
+        graphics.dispose();
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(scaled, null, null), param);
+        }
+        finally {
+            writer.dispose();
+        }
+        return true;
+    }
+
+    //? Decodes every n-th pixel so a 50MP upload never materialises at full resolution
+    private BufferedImage readSubsampled(Path source, int maxSide) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longestSide / (maxSide * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            }
+            finally {
+                reader.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.hive.postservice.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Content-addressed media storage. Keys are derived from the content hash so identical uploads share one blob,
+// every store/retain adds a reference and release drops one, deleting the blob with the last reference.
+public interface MediaStore {
+    String store(Path source, String extension) throws IOException;
+    Path locate(String mediaKey) throws IOException;
+    void retain(String mediaKey);
+    void release(String mediaKey) throws IOException;
+}
@@ -15,21 +15,13 @@ public class MessageQueueService {
     private static final Logger log = LoggerFactory.getLogger(MessageQueueService.class);
     private final KafkaTemplate<String,Object> template;
 
-    public void sendMessageToTopic(String topic, Notification message) {
-        try {
-            CompletableFuture<SendResult<String, Object>> response = template.send(topic, message);
-
-            response.whenComplete((result, ex) -> {
-                if (ex == null) {
-                    System.out.println("Sent message=[" + message + "] with offset=[" + result.getRecordMetadata().offset() + "]");
-                } else {
-                    System.out.println("Unable to send message=[" + message + "] due to : " + ex.getMessage());
-                }
-            });
-        }
-        catch (Exception e) {
-            log.error(e.getMessage());
-            throw new RuntimeException("Error Occurred");
-        }
+    //? Keyed by recipient : one user's notifications stay ordered on one partition
+    public CompletableFuture<SendResult<String, Object>> sendNotification(String topic, Notification message) {
+        return template.send(topic, String.valueOf(message.getRecipientId()), message)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.warn("Unable to send message=[" + message + "] due to : " + ex.getMessage());
+                    }
+                });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package com.hive.postservice.Service;
+
+import com.hive.DTO.Notification;
+import com.hive.Utility.NotificationType;
+import com.hive.postservice.Entity.NotificationOutbox;
+import com.hive.postservice.Repository.NotificationOutboxDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Drains notification_outbox to Kafka.
+ * Rows are written in the same transaction as the like / comment, so a broker outage only delays notifications.
+ * Each tick claims a batch in one short transaction (SKIP LOCKED, so several instances can relay side by side),
+ * coalesces likes on the same post for the same recipient into one message, sends, waits for the acks and deletes
+ * the batch in a second short transaction, so no row lock or connection is held while Kafka is slow. A failed send
+ * releases the claim and the rows are retried on the next tick; a relay that dies mid-send leaves its claim to go
+ * stale after NOTIFICATION.CLAIM-STALE-MS. Delivery is at least once.
+ */
+@Service
+public class NotificationRelay {
+    private static final Logger log = LoggerFactory.getLogger(NotificationRelay.class);
+    private static final String TOPIC = "notification";
+    private final NotificationOutboxDAO outboxDAO;
+    private final MessageQueueService mqService;
+    private final Integer batchSize;
+    private final Long sendTimeoutMs;
+    private final Long claimStaleMs;
+
+    public NotificationRelay(NotificationOutboxDAO outboxDAO,
+                             MessageQueueService mqService,
+                             @Value("${NOTIFICATION.RELAY-BATCH:500}") Integer batchSize,
+                             @Value("${NOTIFICATION.SEND-TIMEOUT-MS:10000}") Long sendTimeoutMs,
+                             @Value("${NOTIFICATION.CLAIM-STALE-MS:60000}") Long claimStaleMs) {
+        this.outboxDAO = outboxDAO;
+        this.mqService = mqService;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.claimStaleMs = claimStaleMs;
+    }
+
+    public void enqueue(Long senderId, Long recipientId, NotificationType type, Long postId, Long commentId) {
+        outboxDAO.save(NotificationOutbox.builder()
+                .senderId(senderId)
+                .recipientId(recipientId)
+                .notificationType(type)
+                .postId(postId)
+                .commentId(commentId)
+                .createdOn(new Timestamp(System.currentTimeMillis()))
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${NOTIFICATION.RELAY-MS:1000}")
+    public void relay() {
+        String token = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+        if (outboxDAO.claimBatch(token, Timestamp.from(now), Timestamp.from(now.minusMillis(claimStaleMs)), batchSize) == 0) {
+            return;
+        }
+        List<NotificationOutbox> batch = outboxDAO.findByClaimTokenOrderById(token);
+        List<CompletableFuture<?>> sends = new ArrayList<>();
+        for (Notification notification : coalesce(batch)) {
+            sends.add(mqService.sendNotification(TOPIC, notification));
+        }
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+        catch (Exception e) {
+            //? Some may have gone out already, consumers see them again on retry. Logged, not thrown out of the
+            //? scheduled tick : the rows are claimable again and the next tick retries them
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            outboxDAO.releaseClaim(token);
+            log.error("[relay] Notification batch of {} not acknowledged, will retry : {}", batch.size(), e.getMessage());
+            return;
+        }
+        outboxDAO.deleteAllInBatch(batch);
+        log.debug("[relay] Sent {} notifications for {} outbox rows", sends.size(), batch.size());
+    }
+
+    private static List<Notification> coalesce(List<NotificationOutbox> batch) {
+        List<Notification> notifications = new ArrayList<>();
+        //? (recipientId, postId) -> like notification carrying the latest liker and the count
+        Map<List<Long>, Notification> likes = new LinkedHashMap<>();
+        for (NotificationOutbox row : batch) {
+            if (row.getNotificationType() == NotificationType.LIKE) {
+                Notification like = likes.computeIfAbsent(List.of(row.getRecipientId(), row.getPostId()), key -> {
+                    Notification first = toNotification(row);
+                    first.setAggregateCount(0);
+                    return first;
+                });
+                like.setSenderId(row.getSenderId());
+                like.setAggregateCount(like.getAggregateCount() + 1);
+            }
+            else {
+                notifications.add(toNotification(row));
+            }
+        }
+        notifications.addAll(likes.values());
+        return notifications;
+    }
+
+    private static Notification toNotification(NotificationOutbox row) {
+        Notification notification = new Notification();
+        notification.setSenderId(row.getSenderId());
+        notification.setRecipientId(row.getRecipientId());
+        notification.setNotificationType(row.getNotificationType());
+        notification.setPostId(row.getPostId());
+        notification.setCommentId(row.getCommentId());
+        return notification;
+    }
+}
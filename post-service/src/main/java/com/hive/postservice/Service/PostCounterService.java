@@ -0,0 +1,16 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.DTO.PostCountDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PostCounterService {
+    void createCounter(Long postId);
+    void addLikes(Long postId, long delta);
+    void addComments(Long postId, long delta);
+    PostCountDTO getCounts(Long postId);
+    List<PostCountDTO> getCounts(Collection<Long> postIds);
+    void removePost(Long postId);
+    void flush();
+}
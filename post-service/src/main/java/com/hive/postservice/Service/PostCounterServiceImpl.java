@@ -0,0 +1,182 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.DTO.PostCountDTO;
+import com.hive.postservice.Entity.PostCounter;
+import com.hive.postservice.Repository.CommentDAO;
+import com.hive.postservice.Repository.LikeDAO;
+import com.hive.postservice.Repository.PostCounterDAO;
+import com.hive.postservice.Repository.PostDAO;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Like / comment counters kept in post_counter instead of COUNT(*) per read.
+ * Writes only touch an in-memory delta per post (ConcurrentHashMap bins act as the lock stripes),
+ * a scheduled flush drains the deltas and applies them as one upsert per post in a single transaction
+ * (PostCounterWriter); a failed flush merges the drained deltas back.
+ * Reads return persisted value + pending delta. Posts without a counter row are seeded from COUNT(*) once.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostCounterServiceImpl implements PostCounterService {
+    private static final Logger log = LoggerFactory.getLogger(PostCounterServiceImpl.class);
+    private static final int LIKES = 0;
+    private static final int COMMENTS = 1;
+    private final Map<Long, long[]> pending = new ConcurrentHashMap<>();
+    private final PostCounterDAO postCounterDAO;
+    private final PostCounterWriter postCounterWriter;
+    private final PostDAO postDAO;
+    private final LikeDAO likeDAO;
+    private final CommentDAO commentDAO;
+
+    @Override
+    public void addLikes(Long postId, long delta) {
+        accumulate(postId, LIKES, delta);
+    }
+
+    @Override
+    public void addComments(Long postId, long delta) {
+        accumulate(postId, COMMENTS, delta);
+    }
+
+    @Override
+    @Transactional
+    public void createCounter(Long postId) {
+        postCounterDAO.seed(postId, 0L, 0L);
+    }
+
+    @Override
+    public PostCountDTO getCounts(Long postId) {
+        List<PostCountDTO> counts = getCounts(List.of(postId));
+        if (counts.isEmpty()) {
+            throw new RuntimeException("[getCounts] Post not found with id: " + postId);
+        }
+        return counts.get(0);
+    }
+
+    @Override
+    @Transactional
+    public List<PostCountDTO> getCounts(Collection<Long> postIds) {
+        Map<Long, PostCounter> counters = new HashMap<>();
+        postCounterDAO.findAllById(postIds).forEach(counter -> counters.put(counter.getPostId(), counter));
+
+        Set<Long> missing = new HashSet<>(postIds);
+        missing.removeAll(counters.keySet());
+        if (!missing.isEmpty()) {
+            counters.putAll(seed(missing));
+        }
+
+        List<PostCountDTO> result = new ArrayList<>(postIds.size());
+        for (Long postId : new LinkedHashSet<>(postIds)) {
+            PostCounter counter = counters.get(postId);
+            if (counter == null) {
+                continue;
+            }
+            long[] delta = pending.get(postId);
+            long likes = counter.getLikeCount() + (delta == null ? 0 : delta[LIKES]);
+            long comments = counter.getCommentCount() + (delta == null ? 0 : delta[COMMENTS]);
+            result.add(PostCountDTO.builder()
+                    .postId(postId)
+                    .likeCount(Math.max(likes, 0))
+                    .commentCount(Math.max(comments, 0))
+                    .build());
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public void removePost(Long postId) {
+        pending.remove(postId);
+        if (postCounterDAO.existsById(postId)) {
+            postCounterDAO.deleteById(postId);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${COUNTER.FLUSH-MS:2000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, long[]> drained = new TreeMap<>();
+        for (Long postId : pending.keySet()) {
+            //? remove() and the compute() in accumulate() lock the same bin, so no increment is lost
+            long[] delta = pending.remove(postId);
+            if (delta == null || (delta[LIKES] == 0 && delta[COMMENTS] == 0)) {
+                continue;
+            }
+            drained.put(postId, delta);
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        try {
+            postCounterWriter.apply(drained);
+        }
+        catch (Exception e) {
+            //? Deltas are additive : merge them back on top of whatever was counted meanwhile
+            drained.forEach((postId, delta) -> {
+                accumulate(postId, LIKES, delta[LIKES]);
+                accumulate(postId, COMMENTS, delta[COMMENTS]);
+            });
+            log.error("[flush] Unable to apply counter deltas for " + drained.size() + " posts, will retry : " + e.getMessage());
+            return;
+        }
+        log.debug("[flush] Applied counter deltas for {} posts", drained.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void accumulate(Long postId, int index, long delta) {
+        pending.compute(postId, (key, value) -> {
+            long[] counts = value == null ? new long[2] : value;
+            counts[index] += delta;
+            return counts;
+        });
+    }
+
+    //? Counters for posts that existed before post_counter, one grouped COUNT for the whole batch
+    private Map<Long, PostCounter> seed(Set<Long> postIds) {
+        Set<Long> existing = new HashSet<>();
+        postDAO.findAllById(postIds).forEach(post -> existing.add(post.getId()));
+        if (existing.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Long> likes = toCountMap(likeDAO.countGroupedByPostIds(existing));
+        Map<Long, Long> comments = toCountMap(commentDAO.countGroupedByPostIds(existing));
+        Map<Long, PostCounter> seeded = new HashMap<>();
+        for (Long postId : existing) {
+            //? COUNT(*) already includes rows whose delta is still pending, the flush would add them twice
+            long[] delta = pending.getOrDefault(postId, new long[2]);
+            PostCounter counter = PostCounter.builder()
+                    .postId(postId)
+                    .likeCount(likes.getOrDefault(postId, 0L) - delta[LIKES])
+                    .commentCount(comments.getOrDefault(postId, 0L) - delta[COMMENTS])
+                    .build();
+            postCounterDAO.seed(postId, counter.getLikeCount(), counter.getCommentCount());
+            seeded.put(postId, counter);
+        }
+        return seeded;
+    }
+
+    private static Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+}
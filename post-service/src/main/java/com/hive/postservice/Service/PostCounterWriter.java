@@ -0,0 +1,21 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.Repository.PostCounterDAO;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class PostCounterWriter {
+    private final PostCounterDAO postCounterDAO;
+
+    //? Own bean so the transaction also applies when PostCounterServiceImpl flushes from @PreDestroy.
+    //? delta = [likes, comments], posts come in id order so concurrent flushes lock rows in the same order
+    @Transactional
+    public void apply(Map<Long, long[]> deltas) {
+        deltas.forEach((postId, delta) -> postCounterDAO.addDeltas(postId, delta[0], delta[1]));
+    }
+}
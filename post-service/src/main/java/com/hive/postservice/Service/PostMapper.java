@@ -0,0 +1,40 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.DTO.PaginationInfo;
+import com.hive.postservice.DTO.PostDTO;
+import com.hive.postservice.Entity.Post;
+import com.hive.postservice.Utility.MediaStatus;
+import org.springframework.data.domain.Page;
+
+// Post -> PostDTO and Page -> PaginationInfo, shared by PostServiceImpl and the jmh benchmarks.
+public final class PostMapper {
+    private PostMapper() { }
+
+    public static PostDTO toDTO(Post post) {
+        return PostDTO.builder()
+                .id(post.getId())
+                .description(post.getDescription())
+                .fileName(post.getFileName())
+                .fileType(post.getFileType())
+                .filePath(post.getFilePath())
+                .createdOn(post.getCreatedOn())
+                .userId(post.getUserId())
+                .isBlocked(post.getIsBlocked())
+                .postType(post.getPostType())
+                .aspectRatio(post.getAspectRatio())
+                .mediaStatus(post.getMediaStatus() == null ? MediaStatus.READY : post.getMediaStatus())
+                .build();
+    }
+
+    public static PaginationInfo toPaginationInfo(Page<PostDTO> page) {
+        return PaginationInfo.builder()
+                .contents(page.getContent())
+                .pageNo(page.getNumber())
+                .pageSize(page.getSize())
+                .hasNext(page.hasNext())
+                .isLast(page.isLast())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.Repository.PostDAO;
+import com.hive.postservice.Utility.ConcurrentIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Background purge of soft-deleted posts.
+ * Likes, comments and feed entries go in bounded batches, each DELETE is its own short transaction, so a viral post
+ * never holds locks on post_like for long. Media keys are claimed with one UPDATE (a concurrent purge sees them
+ * already cleared) and released to the MediaStore; files of rows from before the store are deleted directly.
+ * The post row itself goes last, so an interrupted purge simply resumes on the next run.
+ */
+@Service
+public class PostPurgeService {
+    private static final Logger log = LoggerFactory.getLogger(PostPurgeService.class);
+    private static final String[] CHILD_TABLES = { "post_like", "like_notification", "post_comment", "feed_entry" };
+    private final PostDAO postDAO;
+    private final JdbcTemplate jdbcTemplate;
+    private final MediaStore mediaStore;
+    private final PostCounterService postCounterService;
+    private final Integer postsPerRun;
+    private final Integer batchSize;
+
+    public PostPurgeService(PostDAO postDAO,
+                            JdbcTemplate jdbcTemplate,
+                            MediaStore mediaStore,
+                            PostCounterService postCounterService,
+                            @Value("${PURGE.POSTS-PER-RUN:20}") Integer postsPerRun,
+                            @Value("${PURGE.BATCH-SIZE:1000}") Integer batchSize) {
+        this.postDAO = postDAO;
+        this.jdbcTemplate = jdbcTemplate;
+        this.mediaStore = mediaStore;
+        this.postCounterService = postCounterService;
+        this.postsPerRun = postsPerRun;
+        this.batchSize = batchSize;
+    }
+
+    //? Idempotent, runs after Hibernate has created / updated the post table. Partial : it only holds the few rows
+    //? waiting to be purged, so the purge tick reads an index the size of its backlog instead of scanning post
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePurgeIndex() {
+        try {
+            ConcurrentIndex.ensure(jdbcTemplate, "idx_post_deleted", "ON post (id) WHERE is_deleted");
+        }
+        catch (Exception e) {
+            log.error("[ensurePurgeIndex] Unable to create post purge index : " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${PURGE.INTERVAL-MS:10000}")
+    public void purge() {
+        for (Long postId : postDAO.findDeletedPostIds(postsPerRun)) {
+            try {
+                purgePost(postId);
+            }
+            catch (Exception e) {
+                log.error("[purge] Unable to purge post " + postId + ", will retry", e);
+            }
+        }
+    }
+
+    private void purgePost(Long postId) throws IOException {
+        long removed = 0;
+        for (String table : CHILD_TABLES) {
+            removed += deleteInBatches(table, postId);
+        }
+        reclaimMedia(postId);
+        postCounterService.removePost(postId);
+        jdbcTemplate.update("DELETE FROM post WHERE id = ? AND is_deleted = true", postId);
+        log.info("[purgePost] Purged post " + postId + " with " + removed + " dependent rows");
+    }
+
+    private long deleteInBatches(String table, Long postId) {
+        String sql = "DELETE FROM " + table + " WHERE id IN (SELECT id FROM " + table + " WHERE post_id = ? LIMIT ?)";
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, postId, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    private void reclaimMedia(Long postId) throws IOException {
+        //? Reads the old keys and clears them in one statement
+        List<Map<String, Object>> claimed = jdbcTemplate.queryForList(
+                "WITH old AS (SELECT id, media_key, thumbnail_key, preview_key, file_path FROM post WHERE id = ? FOR UPDATE) " +
+                "UPDATE post p SET media_key = NULL, thumbnail_key = NULL, preview_key = NULL, file_path = 'NO-MEDIA' " +
+                "FROM old WHERE p.id = old.id " +
+                "RETURNING old.media_key, old.thumbnail_key, old.preview_key, old.file_path", postId);
+        if (claimed.isEmpty()) {
+            return;
+        }
+        Map<String, Object> keys = claimed.get(0);
+        String mediaKey = (String) keys.get("media_key");
+        for (String key : new String[]{ mediaKey, (String) keys.get("thumbnail_key"), (String) keys.get("preview_key") }) {
+            if (key != null) {
+                mediaStore.release(key);
+            }
+        }
+        //? Rows from before the MediaStore own their file outright
+        String filePath = (String) keys.get("file_path");
+        if (mediaKey == null && filePath != null && !filePath.equals("NO-MEDIA")) {
+            Files.deleteIfExists(Path.of(filePath));
+        }
+    }
+}
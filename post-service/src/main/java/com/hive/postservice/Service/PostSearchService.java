@@ -0,0 +1,11 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.Utility.SearchCursor;
+
+import java.util.List;
+
+public interface PostSearchService {
+    List<SearchMatch> search(String searchQuery, SearchCursor cursor, Integer limit);
+
+    record SearchMatch(Long postId, Float rank, String highlight) {}
+}
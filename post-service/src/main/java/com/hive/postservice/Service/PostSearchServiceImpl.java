@@ -0,0 +1,76 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.Repository.PostDAO;
+import com.hive.postservice.Utility.ConcurrentIndex;
+import com.hive.postservice.Utility.SearchCursor;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * Post search over a Postgres tsvector column.
+ * post.search_vector is a STORED generated column (migration V1__post_search_vector), so create / update / delete keep it current with no application
+ * side indexing, and the GIN index over it replaces the LIKE '%q%' scan. Every term of the query is matched as a
+ * prefix, hits are ordered by ts_rank and paged by (rank, id), highlights are only built for the returned page.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostSearchServiceImpl implements PostSearchService {
+    private static final Logger log = LoggerFactory.getLogger(PostSearchServiceImpl.class);
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int MAX_TERMS = 8;
+    private final PostDAO postDAO;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<SearchMatch> search(String searchQuery, SearchCursor cursor, Integer limit) {
+        String tsQuery = toPrefixQuery(searchQuery);
+        if (tsQuery.isEmpty()) {
+            return List.of();
+        }
+        List<Object[]> rows = postDAO.searchByDescription(tsQuery, cursor.rank(), cursor.id(), limit);
+        List<SearchMatch> matches = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            matches.add(new SearchMatch(
+                    ((Number) row[0]).longValue(),
+                    ((Number) row[1]).floatValue(),
+                    (String) row[2]));
+        }
+        return matches;
+    }
+
+    //? The column itself comes from migration V1__post_search_vector; the index is built concurrently, so it never
+    //? blocks writes, and rebuilt if an earlier build left it invalid
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureSearchIndex() {
+        try {
+            ConcurrentIndex.ensure(jdbcTemplate, "idx_post_search_vector", "ON post USING GIN (search_vector)");
+        }
+        catch (Exception e) {
+            log.error("[ensureSearchIndex] Unable to create post search index : " + e.getMessage());
+        }
+    }
+
+    //? "summer beach" -> "summer:* & beach:*" ; only letters and digits reach to_tsquery, so no syntax errors
+    private static String toPrefixQuery(String searchQuery) {
+        if (searchQuery == null) {
+            return "";
+        }
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = TERM.matcher(searchQuery.toLowerCase(Locale.ROOT));
+        while (matcher.find() && terms.size() < MAX_TERMS) {
+            terms.add(matcher.group() + ":*");
+        }
+        return String.join(" & ", terms);
+    }
+}
@@ -1,40 +1,54 @@
 package com.hive.postservice.Service;
 
 import com.hive.postservice.DTO.*;
+import com.hive.postservice.Utility.MediaVariant;
+import com.hive.postservice.Utility.TrendingWindow;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
 public interface PostService {
     PostDTO createPost(MultipartFile file, PostRequestDTO postRequestDTO);
     PostDTO createPost(PostRequestDTO postRequestDTO);
-    byte[] getPostFile(Long postId) throws IOException;
+    Path getPostFile(Long postId, MediaVariant variant) throws IOException;
     PostDTO getPost(Long postId);
-    List<PostDTO> getPostsForUser(Long userId);
-    List<PostDTO> getRandomPosts(Integer pageNumber, Integer pageSize);
+    FeedPage getPostsForUser(Long userId, String cursor, Integer pageSize);
+    List<PostDTO> getRandomPosts(Integer pageNumber, Integer pageSize, String seed);
+    String newDiscoverySeed();
+    List<PostDTO> getTrendingPosts(TrendingWindow window, Integer pageNumber, Integer pageSize);
     void deletePost(Long postId);
     PostDTO blockPost(Long postId);
     PostDTO unBlockPost(Long postId);
     Long postCount();
     PaginationInfo getAllPosts(Integer pageNo, Integer pageSize);
-    List<PostDTO> searchPostByDescription(String searchQuery);
+    SearchPage searchPosts(String searchQuery, String cursor, Integer pageSize);
     List<PostDTO> getUserPosts(Long userId);
+    CursorPage<PostDTO> getUserPosts(Long userId, String cursor, Integer pageSize, Boolean withCount);
+    CursorPage<PostGridItemDTO> getProfileGrid(Long userId, String cursor, Integer pageSize);
+    CursorPage<PostDTO> getAllPosts(String cursor, Integer pageSize, Boolean withCount);
+    CursorPage<PostDTO> filterByCursor(PostFilter filter);
     PostDTO updatePost(PostDTO postDTO);
     PaginationInfo filter(PostFilter filter);
 
     CommentDTO createComment(CommentRequestDTO commentRequest);
     void deleteComment(Long commentId);
     List<CommentDTO> getCommentsForPost(Long postId);
+    CursorPage<CommentDTO> getCommentsForPost(Long postId, String cursor, Integer pageSize, Boolean withCount);
     CommentDTO getComment(Long commentId);
     Long commentCount(Long postId);
     CommentDTO blockComment(Long commentId);
     CommentDTO unBlockComment(Long commentId);
 
+    //? The like is written by the next like flush : the returned LikeDTO has no id (null)
     LikeDTO createLike(LikeRequestDTO likeRequest);
     LikeDTO getLike(Long likeId);
     List<LikeDTO> getLikesForPost(Long postId);
+    CursorPage<LikeDTO> getLikesForPost(Long postId, String cursor, Integer pageSize, Boolean withCount);
     void deleteLike(LikeRequestDTO likeId);
     Long likeCount(Long postId);
+    List<PostCountDTO> getCounts(List<Long> postIds);
     Boolean isUserLiked(LikeRequestDTO likeDTO);
+    List<EngagementStateDTO> getEngagementState(EngagementRequestDTO engagementRequest);
 }
\ No newline at end of file
@@ -1,85 +1,115 @@
 package com.hive.postservice.Service;
 
-import com.hive.DTO.Notification;
 import com.hive.Utility.NotificationType;
 import com.hive.postservice.DTO.*;
 import com.hive.postservice.Entity.Comment;
 import com.hive.postservice.Entity.Like;
 import com.hive.postservice.Entity.Post;
-import com.hive.postservice.FeignClientConfig.UserInterface;
 import com.hive.postservice.Repository.CommentDAO;
 import com.hive.postservice.Repository.LikeDAO;
 import com.hive.postservice.Repository.PostDAO;
+import com.hive.postservice.Repository.PostSpecifications;
+import com.hive.postservice.Utility.CursorPages;
 import com.hive.postservice.Utility.DateFilter;
+import com.hive.postservice.Utility.MediaStatus;
+import com.hive.postservice.Utility.MediaVariant;
+import com.hive.postservice.Utility.PageCursor;
 import com.hive.postservice.Utility.PostType;
 import com.hive.postservice.Utility.PostTypeFilter;
+import com.hive.postservice.Utility.SearchCursor;
+import com.hive.postservice.Utility.TrendingWindow;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.apache.kafka.common.KafkaException;
-import org.apache.kafka.common.errors.AuthenticationException;
-import org.apache.kafka.common.errors.AuthorizationException;
-import org.apache.kafka.common.errors.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.sql.Date;
 import java.sql.Timestamp;
-import java.text.SimpleDateFormat;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PostServiceImpl implements PostService{
     private static final Logger log = LoggerFactory.getLogger(PostServiceImpl.class);
-    @Value("${FOLDER.PATH}")
-    private String FOLDER_PATH;
     private final PostDAO postDAO;
     private final CommentDAO commentDAO;
     private final LikeDAO likeDAO;
-    private final UserInterface userInterface;
-    private final MessageQueueService mqService;
+    private final NotificationRelay notificationRelay;
+    private final FeedService feedService;
+    private final DiscoveryService discoveryService;
+    private final MediaProcessingService mediaProcessingService;
+    private final MediaStore mediaStore;
+    private final PostCounterService postCounterService;
+    private final EngagementService engagementService;
+    private final UserDirectoryService userDirectoryService;
+    private final PostSearchService postSearchService;
+    private final CommentThreadService commentThreadService;
+    private final LikeService likeService;
+    private final ProfileGridService profileGridService;
+    private final TrendingService trendingService;
 
 
     @Override
-    @Transactional
     public PostDTO createPost(MultipartFile file, PostRequestDTO postRequestDTO) {
         if ( !isValidUserId(postRequestDTO.getUserId()) ) {
             throw new RuntimeException("[createPost] Invalid user id " + postRequestDTO.getUserId());
         }
+        //? No transaction here : the upload is written to staging before any DB connection is taken
+        Path staged;
         try {
-            //? Saving File to File System
-            String timestamp = new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss-SSS").format(Timestamp.from(Instant.now()));
-            String filePath = FOLDER_PATH + timestamp + "-" + file.getOriginalFilename();
-            file.transferTo(new File(filePath));
-
-            //? Saving Post Details Into DBf
-            Post post = Post.builder()
-                    .description(postRequestDTO.getDescription())
-                    .fileName(file.getOriginalFilename())
-                    .fileType(file.getContentType())
-                    .filePath(filePath)
-                    .createdOn(Timestamp.from(Instant.now()))
-                    .userId(postRequestDTO.getUserId())
-                    .isBlocked(false)
-                    .postType(postRequestDTO.getPostType())
-                    .aspectRatio(postRequestDTO.getAspectRatio())
-                    .build();
-            return entityToDTO(postDAO.save(post));
+            staged = mediaProcessingService.stage(file);
         }
         catch (IOException e) {
             throw new RuntimeException("[createPost IO] " + e);
         }
+
+        Post post = Post.builder()
+                .description(postRequestDTO.getDescription())
+                .fileName(file.getOriginalFilename())
+                .fileType(file.getContentType())
+                .filePath(staged.toString())
+                .createdOn(Timestamp.from(Instant.now()))
+                .userId(postRequestDTO.getUserId())
+                .isBlocked(false)
+                .isDeleted(false)
+                .postType(postRequestDTO.getPostType())
+                .aspectRatio(postRequestDTO.getAspectRatio())
+                .mediaStatus(MediaStatus.PROCESSING)
+                .mediaClaimedBy(mediaProcessingService.instanceId())
+                .mediaClaimedAt(Timestamp.from(Instant.now()))
+                .build();
+        post = postDAO.save(post);
+        postCounterService.createCounter(post.getId());
+        feedService.fanOut(post);
+        profileGridService.evict(post.getUserId());
+        try {
+            mediaProcessingService.submit(post.getId(), staged, post.getPostType());
+        }
+        catch (TaskRejectedException e) {
+            //? Media workers and their queue are full : hide the post (the purge reclaims the staged file) and shed it
+            deletePost(post.getId());
+            throw e;
+        }
+        return entityToDTO(post);
     }
 
     @Override
@@ -97,47 +127,110 @@ public class PostServiceImpl implements PostService{
                 .createdOn(Timestamp.from(Instant.now()))
                 .userId(postRequestDTO.getUserId())
                 .isBlocked(false)
+                .isDeleted(false)
                 .postType(postRequestDTO.getPostType())
                 .aspectRatio(postRequestDTO.getAspectRatio())
+                .mediaStatus(MediaStatus.READY)
                 .build();
-        return entityToDTO(postDAO.save(post));
+        post = postDAO.save(post);
+        postCounterService.createCounter(post.getId());
+        feedService.fanOut(post);
+        profileGridService.evict(post.getUserId());
+        return entityToDTO(post);
     }
 
     @Override
     public PostDTO getPost(Long postId) {
-        return entityToDTO( getPostEntity(postId));
+        return postDAO.findDTOById(postId)
+                .orElseThrow(() -> new RuntimeException("[getPost] Post not found with id: " + postId));
     }
 
     @Override
-    public byte[] getPostFile(Long postId) throws IOException {
-        Post post = getPostEntity(postId);
-        String filePath = post.getFilePath();
-        return Files.readAllBytes(new File(filePath).toPath());
+    public Path getPostFile(Long postId, MediaVariant variant) throws IOException {
+        PostMediaView post = postDAO.findMediaById(postId)
+                .orElseThrow(() -> new RuntimeException("[getPostFile] Post not found with id: " + postId));
+        String mediaKey = post.getMediaKey();
+        if (variant == MediaVariant.THUMBNAIL && post.getThumbnailKey() != null) {
+            mediaKey = post.getThumbnailKey();
+        }
+        else if (variant == MediaVariant.PREVIEW && post.getPreviewKey() != null) {
+            mediaKey = post.getPreviewKey();
+        }
+        if (mediaKey != null) {
+            return mediaStore.locate(mediaKey);
+        }
+
+        //? Legacy rows and uploads still in staging are addressed by path
+        Path path = Path.of(post.getFilePath());
+        if (!Files.isRegularFile(path)) {
+            throw new NoSuchFileException(post.getFilePath());
+        }
+        return path;
     }
 
     @Override
-    public List<PostDTO> getPostsForUser(Long userId) {
+    public FeedPage getPostsForUser(Long userId, String cursor, Integer requestedPageSize) {
         if( !isValidUserId(userId) )
             throw new RuntimeException("[getPostsForUser] Invalid user id " + userId);
-        List<Long> userIds = userInterface.getUserFriendsIds(userId).getBody();
 
-        return List.of(); //! INCOMPLETE
+        int pageSize = CursorPages.pageSize(requestedPageSize);
+        List<PostDTO> posts = feedService.readFeed(userId, PageCursor.decode(cursor), pageSize + 1);
+        return FeedPage.builder()
+                .contents(CursorPages.firstPage(posts, pageSize))
+                .pageSize(pageSize)
+                .nextCursor(CursorPages.nextCursor(posts, pageSize, post -> PageCursor.of(post.getCreatedOn(), post.getId())))
+                .hasNext(posts.size() > pageSize)
+                .build();
+    }
+
+    @Override
+    public List<PostDTO> getRandomPosts(Integer pageNumber, Integer pageSize, String seed) {
+        List<Long> ids = discoveryService.pagePostIds(seed, pageNumber, pageSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PostDTO> posts = postDAO
+                .findUnblockedDTOsByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(PostDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Override
-    public List<PostDTO> getRandomPosts(Integer pageNumber, Integer pageSize) {
-        return postDAO
-                .findRandomPosts(PageRequest.of(pageNumber, pageSize))
+    public List<PostDTO> getTrendingPosts(TrendingWindow window, Integer pageNumber, Integer pageSize) {
+        List<Long> ids = trendingService.pagePostIds(window, pageNumber, pageSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PostDTO> posts = postDAO
+                .findUnblockedDTOsByIdIn(ids)
                 .stream()
-                .map(this::entityToDTO)
+                .collect(Collectors.toMap(PostDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
+    @Override
+    public String newDiscoverySeed() {
+        return discoveryService.newSeed();
+    }
+
     @Override
     @Transactional
     public void deletePost(Long postId) {
-        if( postDAO.existsById(postId) ) {
-            postDAO.deleteById(postId);
+        Optional<Post> post = postDAO.findById(postId);
+        if( post.isPresent() ) {
+            //? Hidden right away, rows and media are reclaimed by PostPurgeService
+            postDAO.markDeleted(postId);
+            engagementService.evictPost(postId);
+            commentThreadService.evict(postId);
+            profileGridService.evict(post.get().getUserId());
+            trendingService.removePost(postId);
         }
         else {
             throw new RuntimeException("[deletePost] Post not found with id: " + postId);
@@ -148,14 +241,19 @@ public class PostServiceImpl implements PostService{
     public PostDTO blockPost(Long postId) {
         Post post = getPostEntity(postId);
         post.setIsBlocked(true);
-        return entityToDTO(postDAO.save(post));
+        post = postDAO.save(post);
+        profileGridService.evict(post.getUserId());
+        trendingService.removePost(postId);
+        return entityToDTO(post);
     }
 
     @Override
     public PostDTO unBlockPost(Long postId) {
         Post post = getPostEntity(postId);
         post.setIsBlocked(false);
-        return entityToDTO(postDAO.save(post));
+        post = postDAO.save(post);
+        profileGridService.evict(post.getUserId());
+        return entityToDTO(post);
     }
 
     @Override
@@ -166,36 +264,61 @@ public class PostServiceImpl implements PostService{
     @Override
     public PaginationInfo getAllPosts(Integer pageNo, Integer pageSize) {
         Pageable pageable = PageRequest.of(pageNo, pageSize, Sort.by("id"));
-        Page<Post> page = postDAO.findAll(pageable);
-        List<PostDTO> contents = page.getContent().stream().map(this::entityToDTO).toList();
+        return PostMapper.toPaginationInfo(postDAO.findDTOPage(pageable));
+    }
 
-        return PaginationInfo.builder()
-                .contents(contents)
-                .pageNo(page.getNumber())
-                .pageSize(page.getSize())
-                .hasNext(page.hasNext())
-                .isLast(page.isLast())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
+    @Override
+    public CursorPage<PostDTO> getAllPosts(String cursor, Integer pageSize, Boolean withCount) {
+        PostFilter filter = PostFilter.builder()
+                .dateFilter(DateFilter.ALL)
+                .postFile(PostTypeFilter.ALL)
+                .cursor(cursor)
+                .pageSize(pageSize)
+                .withCount(withCount)
                 .build();
+        return filterByCursor(filter);
     }
 
     @Override
-    public List<PostDTO> searchPostByDescription(String searchQuery) {
-        List<Post> postList = postDAO.findUsersByDescriptionContainingIgnoreCase(searchQuery);
-        return postList.stream().map(this::entityToDTO).toList();
+    public SearchPage searchPosts(String searchQuery, String cursor, Integer requestedPageSize) {
+        int pageSize = CursorPages.pageSize(requestedPageSize);
+        List<PostSearchService.SearchMatch> matches =
+                postSearchService.search(searchQuery, SearchCursor.decode(cursor), pageSize + 1);
+        boolean hasNext = matches.size() > pageSize;
+        if (hasNext) {
+            matches = matches.subList(0, pageSize);
+        }
+
+        Map<Long, PostDTO> postsById = new HashMap<>();
+        postDAO.findDTOsByIdIn(matches.stream().map(PostSearchService.SearchMatch::postId).toList())
+               .forEach(post -> postsById.put(post.getId(), post));
+
+        List<PostSearchHit> hits = new ArrayList<>(matches.size());
+        for (PostSearchService.SearchMatch match : matches) {
+            PostDTO post = postsById.get(match.postId());
+            if (post != null) {
+                hits.add(PostSearchHit.builder().post(post).highlight(match.highlight()).build());
+            }
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            PostSearchService.SearchMatch last = matches.get(matches.size() - 1);
+            nextCursor = SearchCursor.of(last.rank(), last.postId()).encode();
+        }
+        return SearchPage.builder()
+                .contents(hits)
+                .pageSize(pageSize)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
     }
 
     @Override
     public List<PostDTO> getUserPosts(Long userId) {
         if( !isValidUserId(userId) )
             throw new RuntimeException("[getUserPosts] Invalid user id " + userId);
-        Sort sort = Sort.by(Sort.Direction.DESC, "createdOn");
-        return postDAO
-                .findByUserId(userId, sort)
-                .stream()
-                .map(this::entityToDTO)
-                .toList();
+        return postDAO.findDTOsByUserId(userId);
     }
 
     @Override
@@ -207,74 +330,70 @@ public class PostServiceImpl implements PostService{
 
     @Override
     public PaginationInfo filter(PostFilter filter) {
-        Integer pageNo = filter.getPageNo();
-        Integer pageSize = filter.getPageSize();
-        Pageable pageable = PageRequest.of(pageNo, pageSize, Sort.by("createdOn").ascending());
-
-        if (filter.getDateFilter() == DateFilter.ALL && filter.getPostFile() != PostTypeFilter.ALL) {
-            return filterByPostTypeOnly(filter, pageable);
+        int pageNo = filter.getPageNo() == null ? 0 : Math.max(0, filter.getPageNo());
+        int pageSize = CursorPages.pageSize(filter.getPageSize());
+        Specification<Post> spec = PostSpecifications.fromFilter(filter);
+        Sort sort = Sort.by("createdOn").ascending().and(Sort.by("id").ascending());
+
+        List<PostDTO> posts = postDAO.findFiltered(spec, sort, (long) pageNo * pageSize, pageSize + 1);
+        boolean hasNext = posts.size() > pageSize;
+        if (hasNext) {
+            posts = posts.subList(0, pageSize);
         }
-        else if (filter.getDateFilter() != DateFilter.ALL && filter.getPostFile() == PostTypeFilter.ALL) {
-            return filterByDateOnly(filter, pageable);
-        }
-        else if (filter.getDateFilter() != DateFilter.ALL) {
-            return filterByPostTypeAndDate(filter, pageable);
-        }
-        else {
-            return getAllPosts(pageNo, pageSize);
+        //? Offset callers always got totals, keep that unless they opt out
+        Long totalElements = null;
+        Integer totalPages = null;
+        if (!Boolean.FALSE.equals(filter.getWithCount())) {
+            totalElements = postDAO.count(spec);
+            totalPages = (int) ((totalElements + pageSize - 1) / pageSize);
         }
+        return PaginationInfo.builder()
+                .contents(posts)
+                .pageNo(pageNo)
+                .pageSize(pageSize)
+                .hasNext(hasNext)
+                .isLast(!hasNext)
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .build();
     }
 
-    private PaginationInfo filterByPostTypeOnly(PostFilter filter, Pageable pageable) {
-        PostType postType = PostType.TEXT_ONLY;
-        if (PostTypeFilter.IMAGE_BASED == filter.getPostFile()){
-            postType = PostType.IMAGE;
-        }
-        else if (PostTypeFilter.VIDEO_BASED == filter.getPostFile()){
-            postType = PostType.VIDEO;
-        }
-
-        Page<Post> page = postDAO.findByPostType(postType, pageable);
-        return pageToPaginationInfo(page);
+    @Override
+    public CursorPage<PostDTO> getUserPosts(Long userId, String cursor, Integer requestedPageSize, Boolean withCount) {
+        if( !isValidUserId(userId) )
+            throw new RuntimeException("[getUserPosts] Invalid user id " + userId);
+        int pageSize = CursorPages.pageSize(requestedPageSize);
+        PageCursor position = PageCursor.decode(cursor);
+        List<PostDTO> posts = postDAO.findUserPageBefore(userId, position.createdOn(), position.id(),
+                                                         PageRequest.of(0, pageSize + 1));
+        Long total = Boolean.TRUE.equals(withCount) ? postDAO.countByUserId(userId) : null;
+        return CursorPages.of(posts, pageSize, post -> PageCursor.of(post.getCreatedOn(), post.getId()), total);
     }
 
-    private PaginationInfo filterByDateOnly(PostFilter filter, Pageable pageable) {
-        Timestamp startDate = new Timestamp(filter.getStartingDate().getTime());
-        Timestamp endDate = new Timestamp(filter.getEndingDate().getTime());
-
-        if (filter.getDateFilter() == DateFilter.TODAY || startDate.equals(endDate)) {
-            Page<Post> page = postDAO.findByCreatedOn(startDate, pageable);
-            return pageToPaginationInfo(page);
-        } else {
-            Page<Post> page = postDAO.findByCreatedOnBetween(startDate, endDate, pageable);
-            return pageToPaginationInfo(page);
-        }
+    @Override
+    public CursorPage<PostGridItemDTO> getProfileGrid(Long userId, String cursor, Integer pageSize) {
+        if( !isValidUserId(userId) )
+            throw new RuntimeException("[getProfileGrid] Invalid user id " + userId);
+        return profileGridService.getGrid(userId, cursor, pageSize);
     }
 
-    private PaginationInfo filterByPostTypeAndDate(PostFilter filter, Pageable pageable) {
-        Timestamp startDate = new Timestamp(filter.getStartingDate().getTime());
-        Timestamp endDate = new Timestamp(filter.getEndingDate().getTime());
-        PostType postType = PostType.TEXT_ONLY;
-        if (PostTypeFilter.IMAGE_BASED == filter.getPostFile()){
-            postType = PostType.IMAGE;
-        }
-        else if (PostTypeFilter.VIDEO_BASED == filter.getPostFile()){
-            postType = PostType.VIDEO;
-        }
+    @Override
+    public CursorPage<PostDTO> filterByCursor(PostFilter filter) {
+        int pageSize = CursorPages.pageSize(filter.getPageSize());
+        Specification<Post> spec = PostSpecifications.fromFilter(filter);
+        Sort sort = Sort.by("createdOn").descending().and(Sort.by("id").descending());
 
-        if (filter.getDateFilter() == DateFilter.TODAY || startDate.equals(endDate)) {
-            Page<Post> page = postDAO.findByPostTypeAndCreatedOn(postType, startDate, pageable);
-            return pageToPaginationInfo(page);
-        } else {
-            Page<Post> page = postDAO.findByPostTypeAndCreatedOnBetween(postType, startDate, endDate, pageable);
-            return pageToPaginationInfo(page);
-        }
+        List<PostDTO> posts = postDAO.findFiltered(spec.and(PostSpecifications.before(PageCursor.decode(filter.getCursor()))),
+                                                   sort, 0, pageSize + 1);
+        Long total = Boolean.TRUE.equals(filter.getWithCount()) ? postDAO.count(spec) : null;
+        return CursorPages.of(posts, pageSize, post -> PageCursor.of(post.getCreatedOn(), post.getId()), total);
     }
 
     //POST METHODS ENDED
     //COMMENT METHODS STARTED
 
     @Override
+    @Transactional
     public CommentDTO createComment(CommentRequestDTO commentRequest) {
         if (!isValidUserId(commentRequest.getUserId())) {
             throw new RuntimeException("[createComment] Invalid user id " + commentRequest.getUserId());
@@ -293,28 +412,11 @@ public class PostServiceImpl implements PostService{
                 .post(post.get())
                 .build();
         comment = commentDAO.save(comment);
-
-        try {
-            Notification notification = new Notification();
-            notification.setSenderId(comment.getUserId());
-            notification.setRecipientId(post.get().getUserId());
-            notification.setNotificationType(NotificationType.COMMENT);
-            notification.setPostId(post.get().getId());
-            notification.setCommentId(comment.getId());
-            mqService.sendMessageToTopic("notification", notification);
-        } catch (TimeoutException e) {
-            log.error("[createComment] Kafka TimeoutException for comment id " + comment.getId(), e);
-            throw new RuntimeException("[createComment] Kafka service timeout. Please try again later.", e);
-        } catch (AuthenticationException | AuthorizationException e) {
-            log.error("[createComment] Kafka authentication/authorization error for comment id " + comment.getId(), e);
-            throw new RuntimeException("[createComment] Kafka authentication/authorization failed.", e);
-        } catch (KafkaException e) {
-            log.error("[createComment] General KafkaException for comment id " + comment.getId(), e);
-            throw new RuntimeException("[createComment] Kafka service error. Please try again later.", e);
-        } catch (Exception e) {
-            log.error("[createComment] Error sending notification for comment id " + comment.getId(), e);
-            throw new RuntimeException("[createComment] Error sending notification", e);
-        }
+        notificationRelay.enqueue(comment.getUserId(), post.get().getUserId(), NotificationType.COMMENT,
+                                  post.get().getId(), comment.getId());
+        postCounterService.addComments(post.get().getId(), 1);
+        engagementService.onCommentAdded(comment.getUserId(), post.get().getId());
+        commentThreadService.evict(post.get().getId());
 
         return entityToDTO(comment);
     }
@@ -322,8 +424,12 @@ public class PostServiceImpl implements PostService{
     @Override
     @Transactional
     public void deleteComment(Long commentId) {
-        if( commentDAO.existsById(commentId) ) {
-            commentDAO.deleteById(commentId);
+        Optional<Comment> comment = commentDAO.findById(commentId);
+        if( comment.isPresent() ) {
+            commentDAO.delete(comment.get());
+            postCounterService.addComments(comment.get().getPost().getId(), -1);
+            engagementService.onCommentRemoved(comment.get().getUserId(), comment.get().getPost().getId());
+            commentThreadService.evict(comment.get().getPost().getId());
         }
         else {
             throw new RuntimeException("[deleteComment] Comment not found with id: " + commentId);
@@ -332,26 +438,29 @@ public class PostServiceImpl implements PostService{
 
     @Override
     public List<CommentDTO> getCommentsForPost(Long postId) {
-        Post post = getPostEntity(postId);
-        Sort sort = Sort.by(Sort.Direction.DESC, "commentedDate");
-        return commentDAO
-                .findByPost(post, sort)
-                .stream()
-                .map(this::entityToDTO)
-                .toList();
+        //? First page only, later pages through all-comments/page
+        return commentThreadService.getPage(postId, null, commentThreadService.firstPageSize()).getContents();
+    }
+
+    @Override
+    public CursorPage<CommentDTO> getCommentsForPost(Long postId, String cursor, Integer pageSize, Boolean withCount) {
+        CursorPage<CommentDTO> page = commentThreadService.getPage(postId, cursor, pageSize);
+        if (Boolean.TRUE.equals(withCount)) {
+            page.setTotalElements(commentDAO.countByPostId(postId));
+        }
+        return page;
     }
 
     @Override
     public CommentDTO getComment(Long commentId) {
         return commentDAO
-                .findById(commentId)
-                .map(this::entityToDTO)
+                .findDTOById(commentId)
                 .orElseThrow(() -> new RuntimeException("[getComment] Comment not found with id: " + commentId));
     }
 
     @Override
     public Long commentCount(Long postId) {
-        return commentDAO.countAllByPost( getPostEntity(postId));
+        return postCounterService.getCounts(postId).getCommentCount();
     }
 
     @Override
@@ -360,7 +469,9 @@ public class PostServiceImpl implements PostService{
         if ( commentOp.isPresent() ) {
             Comment comment = commentOp.get();
             comment.setIsBlocked(true);
-            return entityToDTO(commentDAO.save(comment));
+            comment = commentDAO.save(comment);
+            commentThreadService.evict(comment.getPost().getId());
+            return entityToDTO(comment);
         }
         return null;
     }
@@ -371,7 +482,9 @@ public class PostServiceImpl implements PostService{
         if ( commentOp.isPresent() ) {
             Comment comment = commentOp.get();
             comment.setIsBlocked(false);
-            return entityToDTO(commentDAO.save(comment));
+            comment = commentDAO.save(comment);
+            commentThreadService.evict(comment.getPost().getId());
+            return entityToDTO(comment);
         }
         return null;
     }
@@ -380,81 +493,85 @@ public class PostServiceImpl implements PostService{
     //LIKE METHODS STARTED
 
     @Override
-//    @Transactional
     public LikeDTO createLike(LikeRequestDTO likeRequest) {
         if ( !isValidUserId(likeRequest.getUserId()) )
             throw new RuntimeException("[createLike] Invalid user id " + likeRequest.getUserId());
 
-        Optional<Post> post = postDAO.findById(likeRequest.getPostId());
-        if ( post.isEmpty() )
+        if ( !postDAO.existsById(likeRequest.getPostId()) )
             throw new RuntimeException("[createLike] Invalid post id " + likeRequest.getPostId());
 
-        if ( likeDAO.existsByPostAndUserId(post.get(), likeRequest.getUserId()) )
-            return null;
+        likeService.like(likeRequest.getUserId(), likeRequest.getPostId());
 
-        Like like = Like.builder()
+        //? Written by the next like flush, so there is no row id yet
+        return LikeDTO.builder()
                 .userId(likeRequest.getUserId())
                 .likedDate(Timestamp.from(Instant.now()))
-                .post(post.get())
+                .postId(likeRequest.getPostId())
                 .build();
-        like = likeDAO.save(like);
-
-        Notification notification = new Notification();
-        notification.setSenderId( like.getUserId());
-        notification.setRecipientId( post.get().getUserId() );
-        notification.setNotificationType( NotificationType.LIKE );
-        notification.setPostId( post.get().getId() );
-
-        mqService.sendMessageToTopic("notification", notification);
-        return entityToDTO(like);
     }
 
     @Override
     public LikeDTO getLike(Long likeId) {
         return likeDAO
-                .findById(likeId)
-                .map(this::entityToDTO)
+                .findDTOById(likeId)
                 .orElseThrow(() -> new RuntimeException("[getLike] Invalid likeId: " + likeId));
     }
 
     @Override
     public List<LikeDTO> getLikesForPost(Long postId) {
-        return likeDAO
-                .findByPost( getPostEntity(postId))
-                .stream()
-                .map(this::entityToDTO)
-                .toList();
+        if (!postDAO.existsById(postId)) {
+            throw new RuntimeException("[getLikesForPost] Invalid post id " + postId);
+        }
+        return likeDAO.findDTOsByPostId(postId);
     }
 
     @Override
-    @Transactional
-    public void deleteLike(LikeRequestDTO like) {
-        Post post = getPostEntity(like.getPostId());
-        Optional<Like> likeOptional = likeDAO.findByPostAndUserId(post, like.getUserId());
-        if (likeOptional.isPresent()) {
-            Like entity = likeOptional.get();
-            likeDAO.delete(entity);
-        }
-        else {
-            throw new RuntimeException("[deleteLike] Like not found with : " + like);
+    public CursorPage<LikeDTO> getLikesForPost(Long postId, String cursor, Integer requestedPageSize, Boolean withCount) {
+        if (!postDAO.existsById(postId)) {
+            throw new RuntimeException("[getLikesForPost] Invalid post id " + postId);
         }
+        int pageSize = CursorPages.pageSize(requestedPageSize);
+        PageCursor position = PageCursor.decode(cursor);
+        List<LikeDTO> likes = likeDAO.findPageBefore(postId, position.createdOn(), position.id(),
+                                                     PageRequest.of(0, pageSize + 1));
+        Long total = Boolean.TRUE.equals(withCount) ? likeDAO.countByPostId(postId) : null;
+        return CursorPages.of(likes, pageSize, like -> PageCursor.of(like.getLikedDate(), like.getId()), total);
+    }
+
+    @Override
+    public void deleteLike(LikeRequestDTO like) {
+        likeService.unlike(like.getUserId(), like.getPostId());
     }
 
     @Override
     public Long likeCount(Long postId) {
-        return likeDAO.countByPost( getPostEntity(postId));
+        return postCounterService.getCounts(postId).getLikeCount();
     }
 
     @Override
-    public Boolean isUserLiked(LikeRequestDTO likeRequest) {
-        if ( !isValidUserId(likeRequest.getUserId()) )
-            throw new RuntimeException("[createLike] Invalid user id " + likeRequest.getUserId());
+    public List<PostCountDTO> getCounts(List<Long> postIds) {
+        return postCounterService.getCounts(postIds);
+    }
 
-        Optional<Post> post = postDAO.findById(likeRequest.getPostId());
-        if ( post.isEmpty() )
-            throw new RuntimeException("[createLike] Invalid post id " + likeRequest.getPostId());
+    @Override
+    public Boolean isUserLiked(LikeRequestDTO likeRequest) {
+        return likeService.isLiked(likeRequest.getUserId(), likeRequest.getPostId());
+    }
 
-        return likeDAO.existsByPostAndUserId(post.get(), likeRequest.getUserId());
+    @Override
+    public List<EngagementStateDTO> getEngagementState(EngagementRequestDTO engagementRequest) {
+        List<EngagementStateDTO> states =
+                engagementService.getEngagementState(engagementRequest.getUserId(), engagementRequest.getPostIds());
+        //? Taps still waiting for the like flush are not in the database yet
+        Map<Long, Boolean> pendingLikes = likeService.pendingLikes(engagementRequest.getUserId(),
+                                                                   states.stream().map(EngagementStateDTO::getPostId).toList());
+        for (EngagementStateDTO state : states) {
+            Boolean liked = pendingLikes.get(state.getPostId());
+            if (liked != null) {
+                state.setLiked(liked);
+            }
+        }
+        return states;
     }
 
     //LIKE METHODS ENDED
@@ -466,22 +583,11 @@ public class PostServiceImpl implements PostService{
     }
 
     private Boolean isValidUserId(Long userId) {
-        return userInterface.isUserExists(userId).getBody();
+        return userDirectoryService.isKnownUser(userId);
     }
 
     private PostDTO entityToDTO(Post post) {
-        return PostDTO.builder()
-                .id(post.getId())
-                .description(post.getDescription())
-                .fileName(post.getFileName())
-                .fileType(post.getFileType())
-                .filePath(post.getFilePath())
-                .createdOn(post.getCreatedOn())
-                .userId(post.getUserId())
-                .isBlocked(post.getIsBlocked())
-                .postType(post.getPostType())
-                .aspectRatio(post.getAspectRatio())
-                .build();
+        return PostMapper.toDTO(post);
     }
 
     private Post dtoToEntity(PostDTO dto) {
@@ -521,15 +627,6 @@ public class PostServiceImpl implements PostService{
                 .build();
     }
 
-    private LikeDTO entityToDTO(Like like) {
-        return LikeDTO.builder()
-                .id(like.getId())
-                .userId(like.getUserId())
-                .likedDate(like.getLikedDate())
-                .postId(like.getPost().getId())
-                .build();
-    }
-
     private Like dtoToEntity(LikeDTO dto) {
         return Like.builder()
                 .id(dto.getId())
@@ -538,17 +635,4 @@ public class PostServiceImpl implements PostService{
                 .post( getPostEntity(dto.getPostId()))
                 .build();
     }
-
-    private PaginationInfo pageToPaginationInfo(Page<Post> page) {
-        List<PostDTO> contents = page.getContent().stream().map(this::entityToDTO).toList();
-        return PaginationInfo.builder()
-                .contents(contents)
-                .pageNo(page.getNumber())
-                .pageSize(page.getSize())
-                .hasNext(page.hasNext())
-                .isLast(page.isLast())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .build();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.DTO.CursorPage;
+import com.hive.postservice.DTO.PostGridItemDTO;
+
+public interface ProfileGridService {
+    CursorPage<PostGridItemDTO> getGrid(Long userId, String cursor, Integer pageSize);
+    void evict(Long userId);
+    void evictByPost(Long postId);
+}
@@ -0,0 +1,84 @@
+package com.hive.postservice.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hive.postservice.DTO.CursorPage;
+import com.hive.postservice.DTO.PostGridItemDTO;
+import com.hive.postservice.Repository.PostDAO;
+import com.hive.postservice.Utility.AfterCommit;
+import com.hive.postservice.Utility.CursorPages;
+import com.hive.postservice.Utility.PageCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+// Profile grids as PostGridItemDTO projections over idx_post_user_created, newest first, blocked posts left out.
+// The first GRID.FIRST-PAGE-SIZE tiles per user are cached (bounded LRU); anything that changes what a grid shows
+// (create, delete, block / unblock, media ready) evicts that user's entry, again after commit. GRID.CACHE-TTL-MS
+// bounds how long another instance keeps showing a grid it was never told about.
+@Service
+public class ProfileGridServiceImpl implements ProfileGridService {
+    private static final String THUMBNAIL_URL = "/api/post/files/%d?variant=THUMBNAIL";
+    private final PostDAO postDAO;
+    private final Integer firstPageSize;
+    private final Cache<Long, List<PostGridItemDTO>> firstPages;
+
+    public ProfileGridServiceImpl(PostDAO postDAO,
+                                  @Value("${GRID.FIRST-PAGE-SIZE:30}") Integer firstPageSize,
+                                  @Value("${GRID.CACHE-SIZE:20000}") Long cacheSize,
+                                  @Value("${GRID.CACHE-TTL-MS:30000}") Long cacheTtlMs) {
+        this.postDAO = postDAO;
+        this.firstPageSize = firstPageSize;
+        this.firstPages = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .build();
+    }
+
+    @Override
+    public CursorPage<PostGridItemDTO> getGrid(Long userId, String cursor, Integer requestedPageSize) {
+        int pageSize = CursorPages.pageSize(requestedPageSize);
+        if ((cursor == null || cursor.isBlank()) && pageSize <= firstPageSize) {
+            //? Holds firstPageSize + 1 tiles when the grid goes on
+            return toPage(firstPages.get(userId, this::loadFirstPage), pageSize);
+        }
+        PageCursor position = PageCursor.decode(cursor);
+        return toPage(withThumbnailUrls(postDAO.findGridPage(userId, position.createdOn(), position.id(),
+                                                             PageRequest.of(0, pageSize + 1))),
+                      pageSize);
+    }
+
+    @Override
+    public void evict(Long userId) {
+        firstPages.invalidate(userId);
+        AfterCommit.run(() -> firstPages.invalidate(userId));
+    }
+
+    @Override
+    public void evictByPost(Long postId) {
+        postDAO.findUserIdById(postId).ifPresent(this::evict);
+    }
+
+    private List<PostGridItemDTO> loadFirstPage(Long userId) {
+        PageCursor start = PageCursor.start();
+        return List.copyOf(withThumbnailUrls(postDAO.findGridPage(userId, start.createdOn(), start.id(),
+                                                                  PageRequest.of(0, firstPageSize + 1))));
+    }
+
+    //? The query hands back the MediaStore key, clients get the files endpoint that serves that variant
+    private static List<PostGridItemDTO> withThumbnailUrls(List<PostGridItemDTO> rows) {
+        for (PostGridItemDTO row : rows) {
+            if (row.getThumbnailUrl() != null) {
+                row.setThumbnailUrl(THUMBNAIL_URL.formatted(row.getId()));
+            }
+        }
+        return rows;
+    }
+
+    private static CursorPage<PostGridItemDTO> toPage(List<PostGridItemDTO> rows, int pageSize) {
+        return CursorPages.of(rows, pageSize, tile -> PageCursor.of(tile.getCreatedOn(), tile.getId()), null);
+    }
+}
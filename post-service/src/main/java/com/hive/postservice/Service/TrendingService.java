@@ -0,0 +1,11 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.Utility.TrendingWindow;
+
+import java.util.List;
+
+public interface TrendingService {
+    void record(Long postId, double weight, long occurredOn);
+    void removePost(Long postId);
+    List<Long> pagePostIds(TrendingWindow window, Integer pageNo, Integer pageSize);
+}
@@ -0,0 +1,173 @@
+package com.hive.postservice.Service;
+
+import com.hive.DTO.Notification;
+import com.hive.Utility.NotificationType;
+import com.hive.postservice.Utility.CursorPages;
+import com.hive.postservice.Utility.TrendingWindow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+
+/*
+ * Trending posts from the like / comment notification stream, no scans of post_like or post_comment.
+ * Each window keeps forward-decayed scores : an event adds weight * e^((t - landmark) / tau), so scores only grow and
+ * the relative order never changes just because time passes. That lets a TreeSet hold the ranking with O(log n)
+ * updates. A scheduled snapshot rebases the landmark (rescaling keeps the order), prunes scores that have decayed
+ * away and publishes an immutable top list, so reads are a sublist of it.
+ * Every instance reads the whole topic from the start with its own group, so restarts rebuild the scores from the
+ * retained events, using each record's own timestamp.
+ */
+@Service
+public class TrendingServiceImpl implements TrendingService {
+    private static final Logger log = LoggerFactory.getLogger(TrendingServiceImpl.class);
+    private static final double LIKE_WEIGHT = 1.0;
+    private static final double COMMENT_WEIGHT = 3.0;
+    private static final double PRUNE_BELOW = 0.05;
+    private final Map<TrendingWindow, DecayedRanking> rankings = new EnumMap<>(TrendingWindow.class);
+    private final Integer topSize;
+    private final Integer maxTracked;
+    private volatile Map<TrendingWindow, List<Long>> snapshots = Map.of();
+
+    public TrendingServiceImpl(@Value("${TRENDING.TOP-SIZE:500}") Integer topSize,
+                               @Value("${TRENDING.MAX-TRACKED:100000}") Integer maxTracked) {
+        this.topSize = topSize;
+        this.maxTracked = maxTracked;
+        long now = System.currentTimeMillis();
+        rankings.put(TrendingWindow.HOUR, new DecayedRanking(Duration.ofMinutes(30), now));
+        rankings.put(TrendingWindow.DAY, new DecayedRanking(Duration.ofHours(6), now));
+        rankings.put(TrendingWindow.WEEK, new DecayedRanking(Duration.ofDays(2), now));
+    }
+
+    @KafkaListener(topics = "notification", groupId = "post-service-trending-${random.uuid}",
+                   properties = {
+                           "auto.offset.reset=earliest",
+                           "spring.json.value.default.type=com.hive.DTO.Notification"
+                   })
+    public void onNotification(@Payload Notification notification,
+                               @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long timestamp) {
+        if (notification == null || notification.getPostId() == null) {
+            return;
+        }
+        if (notification.getNotificationType() == NotificationType.LIKE) {
+            int likes = notification.getAggregateCount() == null ? 1 : notification.getAggregateCount();
+            record(notification.getPostId(), LIKE_WEIGHT * likes, timestamp);
+        }
+        else if (notification.getNotificationType() == NotificationType.COMMENT) {
+            record(notification.getPostId(), COMMENT_WEIGHT, timestamp);
+        }
+    }
+
+    @Override
+    public void record(Long postId, double weight, long occurredOn) {
+        for (DecayedRanking ranking : rankings.values()) {
+            ranking.add(postId, weight, occurredOn);
+        }
+    }
+
+    @Override
+    public void removePost(Long postId) {
+        for (DecayedRanking ranking : rankings.values()) {
+            ranking.remove(postId);
+        }
+    }
+
+    @Override
+    public List<Long> pagePostIds(TrendingWindow window, Integer pageNo, Integer pageSize) {
+        if (pageNo == null || pageNo < 0 || pageSize == null || pageSize <= 0) {
+            throw new RuntimeException("[pagePostIds] Invalid page " + pageNo + " of size " + pageSize);
+        }
+        int size = Math.min(pageSize, CursorPages.MAX_PAGE_SIZE);
+        List<Long> top = snapshots.getOrDefault(window, List.of());
+        //? long : pageNo * size overflows int long before it runs past the snapshot
+        int from = (int) Math.min((long) pageNo * size, top.size());
+        int to = Math.min(from + size, top.size());
+        return top.subList(from, to);
+    }
+
+    @Scheduled(fixedDelayString = "${TRENDING.SNAPSHOT-MS:5000}")
+    public void snapshot() {
+        long now = System.currentTimeMillis();
+        Map<TrendingWindow, List<Long>> next = new EnumMap<>(TrendingWindow.class);
+        rankings.forEach((window, ranking) -> {
+            ranking.rebase(now, maxTracked);
+            next.put(window, ranking.top(topSize));
+        });
+        snapshots = next;
+        log.debug("[snapshot] Trending snapshot built for {} windows", next.size());
+    }
+
+    //? Package-private for TrendingServiceImplTest
+    static final class DecayedRanking {
+        private final double tauMs;
+        private final Map<Long, Scored> scores = new HashMap<>();
+        private final TreeSet<Scored> order = new TreeSet<>(
+                Comparator.comparingDouble(Scored::score).reversed().thenComparing(Scored::postId, Comparator.reverseOrder()));
+        private long landmark;
+
+        DecayedRanking(Duration halfLife, long landmark) {
+            this.tauMs = halfLife.toMillis() / Math.log(2);
+            this.landmark = landmark;
+        }
+
+        synchronized void add(Long postId, double weight, long occurredOn) {
+            Scored current = scores.get(postId);
+            double score = weight * Math.exp((occurredOn - landmark) / tauMs);
+            if (current != null) {
+                order.remove(current);
+                score += current.score();
+            }
+            Scored updated = new Scored(postId, score);
+            scores.put(postId, updated);
+            order.add(updated);
+        }
+
+        synchronized void remove(Long postId) {
+            Scored current = scores.remove(postId);
+            if (current != null) {
+                order.remove(current);
+            }
+        }
+
+        //? Move the landmark to now : every score is scaled by the same factor, so the order is kept
+        synchronized void rebase(long now, int maxTracked) {
+            double factor = Math.exp(-(now - landmark) / tauMs);
+            List<Scored> kept = new ArrayList<>(Math.min(order.size(), maxTracked));
+            for (Scored scored : order) {
+                double score = scored.score() * factor;
+                if (score < PRUNE_BELOW || kept.size() >= maxTracked) {
+                    break;
+                }
+                kept.add(new Scored(scored.postId(), score));
+            }
+            scores.clear();
+            order.clear();
+            for (Scored scored : kept) {
+                scores.put(scored.postId(), scored);
+                order.add(scored);
+            }
+            landmark = now;
+        }
+
+        synchronized List<Long> top(int k) {
+            List<Long> ids = new ArrayList<>(Math.min(k, order.size()));
+            for (Scored scored : order) {
+                if (ids.size() == k) {
+                    break;
+                }
+                ids.add(scored.postId());
+            }
+            return List.copyOf(ids);
+        }
+    }
+
+    private record Scored(Long postId, double score) { }
+}
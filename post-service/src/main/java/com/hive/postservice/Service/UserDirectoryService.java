@@ -0,0 +1,8 @@
+package com.hive.postservice.Service;
+
+import com.hive.DTO.UserEvent;
+
+public interface UserDirectoryService {
+    Boolean isKnownUser(Long userId);
+    void onUserEvent(UserEvent event);
+}
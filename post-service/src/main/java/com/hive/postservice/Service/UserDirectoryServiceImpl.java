@@ -0,0 +1,168 @@
+package com.hive.postservice.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hive.DTO.UserEvent;
+import com.hive.postservice.FeignClientConfig.UserInterface;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Local view of which users are active (exist and are not blocked) : a bitmap over the (dense, never reused) user id
+// sequence, loaded from user-service at startup, kept current by the user-events topic (CREATED / UNBLOCKED set a bit,
+// BLOCKED clears it) and rebuilt every USER-DIRECTORY.REFRESH-MS in case an event was lost. Feign is only called for
+// ids the bitmap does not hold, and a short-lived negative cache keeps a burst of requests for an unknown id from
+// hammering user-service.
+@Service
+public class UserDirectoryServiceImpl implements UserDirectoryService {
+    private static final Logger log = LoggerFactory.getLogger(UserDirectoryServiceImpl.class);
+    private static final int WARM_UP_BATCH = 10000;
+    private final UserInterface userInterface;
+    private final BitSet knownUsers = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Cache<Long, Boolean> unknownUsers;
+
+    public UserDirectoryServiceImpl(UserInterface userInterface,
+                                    @Value("${USER-DIRECTORY.NEGATIVE-TTL-SECONDS:30}") Long negativeTtlSeconds) {
+        this.userInterface = userInterface;
+        this.unknownUsers = Caffeine.newBuilder()
+                .maximumSize(10000)
+                .expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+                .build();
+    }
+
+    @Override
+    public Boolean isKnownUser(Long userId) {
+        if (userId == null || userId <= 0) {
+            return false;
+        }
+        if (isMarked(userId)) {
+            return true;
+        }
+        if (unknownUsers.getIfPresent(userId) != null) {
+            return false;
+        }
+        //? Fallback : created before warm-up finished, or the event has not arrived yet
+        Boolean exists = userInterface.isActiveUser(userId).getBody();
+        if (Boolean.TRUE.equals(exists)) {
+            mark(userId);
+            return true;
+        }
+        unknownUsers.put(userId, Boolean.TRUE);
+        return false;
+    }
+
+    @Override
+    @KafkaListener(topics = "user-events", groupId = "post-service-${random.uuid}")
+    public void onUserEvent(UserEvent event) {
+        if (event == null || event.getUserId() == null || event.getEventType() == null) {
+            return;
+        }
+        switch (event.getEventType()) {
+            case CREATED, UNBLOCKED -> {
+                mark(event.getUserId());
+                unknownUsers.invalidate(event.getUserId());
+            }
+            case BLOCKED -> unmark(event.getUserId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    //? Events are fire and forget, the periodic rebuild drops users whose BLOCKED event never arrived
+    @Scheduled(initialDelayString = "${USER-DIRECTORY.REFRESH-MS:600000}", fixedDelayString = "${USER-DIRECTORY.REFRESH-MS:600000}")
+    public void refresh() {
+        BitSet activeUsers = new BitSet();
+        long afterId = 0;
+        int loaded = 0;
+        try {
+            while (true) {
+                List<Long> ids = userInterface.getUserIds(afterId, WARM_UP_BATCH).getBody();
+                if (ids == null || ids.isEmpty()) {
+                    break;
+                }
+                for (Long id : ids) {
+                    if (fitsBitmap(id)) {
+                        activeUsers.set(id.intValue());
+                    }
+                }
+                loaded += ids.size();
+                afterId = ids.get(ids.size() - 1);
+                if (ids.size() < WARM_UP_BATCH) {
+                    break;
+                }
+            }
+        }
+        catch (Exception e) {
+            //? Not fatal : keep the current bitmap, lookups fall back to user-service until the next refresh
+            log.warn("[refresh] Stopped after {} user ids, bitmap left as it was : {}", loaded, e.getMessage());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            knownUsers.clear();
+            knownUsers.or(activeUsers);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+        log.info("[refresh] Loaded {} user ids", loaded);
+    }
+
+    private boolean isMarked(Long userId) {
+        if (!fitsBitmap(userId)) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return knownUsers.get(userId.intValue());
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void mark(Long userId) {
+        if (!fitsBitmap(userId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            knownUsers.set(userId.intValue());
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unmark(Long userId) {
+        if (!fitsBitmap(userId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            knownUsers.clear(userId.intValue());
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean fitsBitmap(Long userId) {
+        return userId != null && userId > 0 && userId <= Integer.MAX_VALUE;
+    }
+}
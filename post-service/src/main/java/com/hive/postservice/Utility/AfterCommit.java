@@ -0,0 +1,23 @@
+package com.hive.postservice.Utility;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Runs an action once the surrounding transaction has committed, or right away when there is none.
+// Cache evictions go through here so a read racing the writer cannot re-cache the pre-commit state.
+public final class AfterCommit {
+    private AfterCommit() { }
+
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
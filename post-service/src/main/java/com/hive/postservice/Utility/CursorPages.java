@@ -0,0 +1,39 @@
+package com.hive.postservice.Utility;
+
+import com.hive.postservice.DTO.CursorPage;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Shared page-size clamp and page builder for every pageSize + 1 (keyset) read.
+public final class CursorPages {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 50;
+
+    private CursorPages() { }
+
+    //? The page size comes straight from the request : null is the default, anything else lands in [1, MAX_PAGE_SIZE]
+    public static int pageSize(Integer requested) {
+        return requested == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    //? Callers read pageSize + 1 rows, the extra one only tells us there is a next page
+    public static <D> List<D> firstPage(List<D> rows, int pageSize) {
+        return rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+    }
+
+    public static <D> String nextCursor(List<D> rows, int pageSize, Function<D, PageCursor> positionOf) {
+        return rows.size() > pageSize ? positionOf.apply(rows.get(pageSize - 1)).encode() : null;
+    }
+
+    public static <D> CursorPage<D> of(List<D> rows, int pageSize, Function<D, PageCursor> positionOf, Long totalElements) {
+        boolean hasNext = rows.size() > pageSize;
+        return CursorPage.<D>builder()
+                .contents(firstPage(rows, pageSize))
+                .pageSize(pageSize)
+                .nextCursor(nextCursor(rows, pageSize, positionOf))
+                .hasNext(hasNext)
+                .totalElements(totalElements)
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.hive.postservice.Utility;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Bytes and duration of media file I/O, tagged by operation (write, read, sendfile).
+// Sendfile transfers happen in Tomcat after the servlet returns, so only their size is known here.
+@Component
+public class MediaIoMetrics {
+    private final MeterRegistry meterRegistry;
+
+    public MediaIoMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String operation, long bytes, long startNanos) {
+        bytes(operation).record(bytes);
+        Timer.builder("media.io.duration")
+                .description("Time spent moving media bytes between disk and the network")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBytes(String operation, long bytes) {
+        bytes(operation).record(bytes);
+    }
+
+    private DistributionSummary bytes(String operation) {
+        return DistributionSummary.builder("media.io.bytes")
+                .description("Media bytes moved per operation")
+                .baseUnit("bytes")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
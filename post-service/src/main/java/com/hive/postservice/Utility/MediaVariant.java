@@ -0,0 +1,3 @@
+package com.hive.postservice.Utility;
+
+public enum MediaVariant { ORIGINAL, PREVIEW, THUMBNAIL }
@@ -0,0 +1,40 @@
+package com.hive.postservice.Utility;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+
+// Opaque keyset position : (createdOn, id). Seconds + nanos keep the full timestamp precision.
+public record PageCursor(Timestamp createdOn, Long id) {
+    private static final Timestamp END_OF_TIME = Timestamp.valueOf("9999-12-31 23:59:59");
+
+    public static PageCursor start() {
+        return new PageCursor(END_OF_TIME, Long.MAX_VALUE);
+    }
+
+    public static PageCursor of(Timestamp createdOn, Long id) {
+        return new PageCursor(createdOn, id);
+    }
+
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return start();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            Instant instant = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new PageCursor(Timestamp.from(instant), Long.parseLong(parts[2]));
+        }
+        catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new RuntimeException("[PageCursor] Invalid cursor " + cursor);
+        }
+    }
+
+    public String encode() {
+        Instant instant = createdOn.toInstant();
+        String raw = instant.getEpochSecond() + ":" + instant.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,36 @@
+package com.hive.postservice.Utility;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque keyset position for ranked search : (rank, id). Rank is the real returned by ts_rank, kept as a float
+// so it compares exactly against the next page's recomputed rank.
+public record SearchCursor(Float rank, Long id) {
+
+    public static SearchCursor start() {
+        return new SearchCursor(Float.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public static SearchCursor of(Float rank, Long id) {
+        return new SearchCursor(rank, id);
+    }
+
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return start();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            return new SearchCursor(Float.intBitsToFloat(Integer.parseInt(parts[0])), Long.parseLong(parts[1]));
+        }
+        catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new RuntimeException("[SearchCursor] Invalid cursor " + cursor);
+        }
+    }
+
+    public String encode() {
+        String raw = Float.floatToIntBits(rank) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,3 @@
+package com.hive.postservice.Utility;
+
+public enum TrendingWindow { HOUR, DAY, WEEK }
@@ -0,0 +1,4 @@
+-- Full-text search column behind PostSearchService. Adding a STORED generated column rewrites post under an
+-- ACCESS EXCLUSIVE lock, so it runs once per database here and not on every instance start.
+ALTER TABLE post ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(description, ''))) STORED;
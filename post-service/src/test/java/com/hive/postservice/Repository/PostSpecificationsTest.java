@@ -0,0 +1,93 @@
+package com.hive.postservice.Repository;
+
+import com.hive.postservice.DTO.PostFilter;
+import com.hive.postservice.Entity.Post;
+import com.hive.postservice.Utility.DateFilter;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostSpecificationsTest {
+
+	@Test
+	void singleDayIsAWholeDayRange() {
+		assertRange(LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 10),
+					LocalDateTime.of(2024, 3, 10, 0, 0), LocalDateTime.of(2024, 3, 11, 0, 0));
+	}
+
+	@Test
+	void lastDayIsIncludedUpToMidnight() {
+		assertRange(LocalDate.of(2024, 2, 28), LocalDate.of(2024, 2, 29),
+					LocalDateTime.of(2024, 2, 28, 0, 0), LocalDateTime.of(2024, 3, 1, 0, 0));
+	}
+
+	@Test
+	void clientDatesWinOverThePreset() {
+		PostFilter filter = PostFilter.builder()
+				.dateFilter(DateFilter.TODAY)
+				.startingDate(Date.valueOf("2024-01-05"))
+				.endingDate(Date.valueOf("2024-01-07"))
+				.build();
+		assertArrayEquals(new LocalDate[]{ LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 7) },
+						  PostSpecifications.resolveDays(filter));
+	}
+
+	@Test
+	void startingDateAloneIsASingleDay() {
+		PostFilter filter = PostFilter.builder()
+				.dateFilter(DateFilter.CUSTOM_DATE)
+				.startingDate(Date.valueOf("2024-01-05"))
+				.build();
+		assertArrayEquals(new LocalDate[]{ LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 5) },
+						  PostSpecifications.resolveDays(filter));
+	}
+
+	@Test
+	void presetsRunFromTheirFirstDayToToday() {
+		LocalDate today = LocalDate.now();
+		LocalDate monday = today.minusDays(today.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue());
+		assertArrayEquals(new LocalDate[]{ today, today }, resolve(DateFilter.TODAY));
+		assertArrayEquals(new LocalDate[]{ monday, today }, resolve(DateFilter.THIS_WEEK));
+		assertArrayEquals(new LocalDate[]{ today.withDayOfMonth(1), today }, resolve(DateFilter.THIS_MONTH));
+		assertArrayEquals(new LocalDate[]{ today.withDayOfYear(1), today }, resolve(DateFilter.THIS_YEAR));
+	}
+
+	@Test
+	void customDateWithoutDatesIsRejected() {
+		assertThrows(RuntimeException.class, () -> resolve(DateFilter.CUSTOM_DATE));
+	}
+
+	private static LocalDate[] resolve(DateFilter dateFilter) {
+		return PostSpecifications.resolveDays(PostFilter.builder().dateFilter(dateFilter).build());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void assertRange(LocalDate firstDay, LocalDate lastDay, LocalDateTime start, LocalDateTime end) {
+		Root<Post> root = mock(Root.class);
+		CriteriaQuery<?> query = mock(CriteriaQuery.class);
+		CriteriaBuilder cb = mock(CriteriaBuilder.class);
+		Path<Timestamp> createdOn = mock(Path.class);
+		when(root.<Timestamp>get("createdOn")).thenReturn(createdOn);
+
+		PostSpecifications.createdOnDays(firstDay, lastDay).toPredicate(root, query, cb);
+
+		verify(cb).greaterThanOrEqualTo(same(createdOn), eq(Timestamp.valueOf(start)));
+		verify(cb).lessThan(same(createdOn), eq(Timestamp.valueOf(end)));
+	}
+}
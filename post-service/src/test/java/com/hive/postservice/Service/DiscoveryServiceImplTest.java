@@ -0,0 +1,82 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.Repository.PostDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DiscoveryServiceImplTest {
+	private PostDAO postDAO;
+	private DiscoveryServiceImpl discovery;
+	private final List<Long> postIds = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		//? Sparse ids : 45 posts spread over [1, 10000]
+		for (long id = 1; id <= 10_000; id += 223) {
+			postIds.add(id);
+		}
+		postDAO = mock(PostDAO.class);
+		when(postDAO.findDiscoverablePostIds()).thenReturn(postIds);
+		discovery = new DiscoveryServiceImpl(postDAO);
+		discovery.refreshPostIds();
+	}
+
+	@Test
+	void pagesAreFullAndCoverEveryPostOnce() {
+		String seed = discovery.newSeed();
+		Set<Long> seen = new HashSet<>();
+		for (int pageNo = 0; pageNo < 4; pageNo++) {
+			List<Long> page = discovery.pagePostIds(seed, pageNo, 10);
+			assertEquals(10, page.size());
+			page.forEach(id -> assertTrue(seen.add(id)));
+		}
+		List<Long> last = discovery.pagePostIds(seed, 4, 10);
+		assertEquals(5, last.size());
+		seen.addAll(last);
+		assertEquals(new HashSet<>(postIds), seen);
+		assertEquals(List.of(), discovery.pagePostIds(seed, 5, 10));
+	}
+
+	@Test
+	void sameSeedServesTheSamePage() {
+		String seed = discovery.newSeed();
+		assertEquals(discovery.pagePostIds(seed, 1, 10), discovery.pagePostIds(seed, 1, 10));
+	}
+
+	@Test
+	void postsCreatedAfterTheSeedAreLeftOut() {
+		String seed = discovery.newSeed();
+		List<Long> before = discovery.pagePostIds(seed, 0, 50);
+		postIds.add(20_000L);
+		discovery.refreshPostIds();
+		assertEquals(before, discovery.pagePostIds(seed, 0, 50));
+	}
+
+	@Test
+	void pageSizeIsCapped() {
+		for (long id = 10_001; id <= 10_100; id++) {
+			postIds.add(id);
+		}
+		discovery.refreshPostIds();
+		assertEquals(50, discovery.pagePostIds(discovery.newSeed(), 0, 1_000).size());
+	}
+
+	@Test
+	void invalidPagesAreRejected() {
+		String seed = discovery.newSeed();
+		assertThrows(RuntimeException.class, () -> discovery.pagePostIds(seed, -1, 10));
+		assertThrows(RuntimeException.class, () -> discovery.pagePostIds(seed, 0, 0));
+		assertThrows(RuntimeException.class, () -> discovery.pagePostIds("garbage", 0, 10));
+	}
+}
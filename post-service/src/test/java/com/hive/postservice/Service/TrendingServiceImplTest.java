@@ -0,0 +1,94 @@
+package com.hive.postservice.Service;
+
+import com.hive.postservice.Utility.TrendingWindow;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TrendingServiceImplTest {
+	private static final long HOUR = Duration.ofHours(1).toMillis();
+
+	@Test
+	void rebaseKeepsTheOrder() {
+		TrendingServiceImpl.DecayedRanking ranking = new TrendingServiceImpl.DecayedRanking(Duration.ofHours(1), 0);
+		ranking.add(1L, 1.0, 0);
+		ranking.add(2L, 1.0, HOUR / 2);
+		ranking.add(3L, 3.0, 0);
+		assertEquals(List.of(3L, 2L, 1L), ranking.top(10));
+
+		ranking.rebase(2 * HOUR, 100);
+		assertEquals(List.of(3L, 2L, 1L), ranking.top(10));
+	}
+
+	@Test
+	void rebasedRankingMatchesOneThatWasNeverRebased() {
+		TrendingServiceImpl.DecayedRanking rebased = new TrendingServiceImpl.DecayedRanking(Duration.ofHours(1), 0);
+		TrendingServiceImpl.DecayedRanking reference = new TrendingServiceImpl.DecayedRanking(Duration.ofHours(1), 0);
+		for (TrendingServiceImpl.DecayedRanking ranking : List.of(rebased, reference)) {
+			ranking.add(1L, 1.0, 0);
+			ranking.add(2L, 1.0, HOUR / 2);
+			ranking.add(3L, 3.0, 0);
+		}
+		rebased.rebase(2 * HOUR, 100);
+
+		//? Post 1 : 0.25 + 1 after the rebase, overtakes post 3 (0.75)
+		for (TrendingServiceImpl.DecayedRanking ranking : List.of(rebased, reference)) {
+			ranking.add(1L, 1.0, 2 * HOUR);
+		}
+		assertEquals(List.of(1L, 3L, 2L), rebased.top(10));
+		assertEquals(reference.top(10), rebased.top(10));
+	}
+
+	@Test
+	void rebasePrunesDecayedScores() {
+		TrendingServiceImpl.DecayedRanking ranking = new TrendingServiceImpl.DecayedRanking(Duration.ofHours(1), 0);
+		ranking.add(1L, 1.25, 0);
+		ranking.add(2L, 0.35, 0);
+		ranking.add(3L, 0.75, 0);
+
+		//? Three half-lives : 0.156, 0.044 (below the prune threshold), 0.094
+		ranking.rebase(3 * HOUR, 100);
+		assertEquals(List.of(1L, 3L), ranking.top(10));
+	}
+
+	@Test
+	void rebaseKeepsOnlyTheTopTracked() {
+		TrendingServiceImpl.DecayedRanking ranking = new TrendingServiceImpl.DecayedRanking(Duration.ofHours(1), 0);
+		ranking.add(1L, 1.0, 0);
+		ranking.add(2L, 2.0, 0);
+		ranking.add(3L, 3.0, 0);
+
+		ranking.rebase(HOUR, 2);
+		assertEquals(List.of(3L, 2L), ranking.top(10));
+
+		ranking.add(1L, 0.5, HOUR);
+		assertEquals(List.of(3L, 2L, 1L), ranking.top(10));
+	}
+
+	@Test
+	void pagesAreCutFromTheSnapshot() {
+		TrendingServiceImpl trending = new TrendingServiceImpl(500, 100_000);
+		long now = System.currentTimeMillis();
+		for (long postId = 1; postId <= 60; postId++) {
+			trending.record(postId, postId, now);
+		}
+		trending.snapshot();
+
+		assertEquals(List.of(60L, 59L), trending.pagePostIds(TrendingWindow.DAY, 0, 2));
+		assertEquals(List.of(58L, 57L), trending.pagePostIds(TrendingWindow.DAY, 1, 2));
+		//? Capped at 50
+		assertEquals(50, trending.pagePostIds(TrendingWindow.DAY, 0, 1_000).size());
+		assertEquals(List.of(), trending.pagePostIds(TrendingWindow.DAY, Integer.MAX_VALUE, 50));
+	}
+
+	@Test
+	void invalidPagesAreRejected() {
+		TrendingServiceImpl trending = new TrendingServiceImpl(500, 100_000);
+		assertThrows(RuntimeException.class, () -> trending.pagePostIds(TrendingWindow.DAY, -1, 20));
+		assertThrows(RuntimeException.class, () -> trending.pagePostIds(TrendingWindow.DAY, 0, 0));
+	}
+}
@@ -10,6 +10,7 @@ public class Notification {
     private NotificationType notificationType;
     private Long postId;
     private Long commentId;
+    private Integer aggregateCount;
 
     public Notification() {}
     public Notification( String id, Long senderId,
@@ -43,6 +44,10 @@ public class Notification {
     public Long getCommentId() { return commentId; }
     public void setCommentId(Long commentId) { this.commentId = commentId; }
 
+    //? Set when several events were coalesced into this one ("N people liked your post")
+    public Integer getAggregateCount() { return aggregateCount; }
+    public void setAggregateCount(Integer aggregateCount) { this.aggregateCount = aggregateCount; }
+
     @Override
     public String toString() {
         return "Notification{" +
@@ -52,6 +57,7 @@ public class Notification {
                 ", NotificationType=" + notificationType +
                 ", postId=" + postId +
                 ", commentId=" + commentId +
+                ", aggregateCount=" + aggregateCount +
                 '}';
     }
 }
\ No newline at end of file
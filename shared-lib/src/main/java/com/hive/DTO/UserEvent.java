@@ -0,0 +1,28 @@
+package com.hive.DTO;
+
+import com.hive.Utility.UserEventType;
+
+public class UserEvent {
+    private Long userId;
+    private UserEventType eventType;
+
+    public UserEvent() {}
+    public UserEvent( Long userId, UserEventType eventType ) {
+        this.userId = userId;
+        this.eventType = eventType;
+    }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public UserEventType getEventType() { return eventType; }
+    public void setEventType(UserEventType eventType) { this.eventType = eventType; }
+
+    @Override
+    public String toString() {
+        return "UserEvent{" +
+                "userId=" + userId +
+                ", eventType=" + eventType +
+                '}';
+    }
+}
@@ -0,0 +1,3 @@
+package com.hive.Utility;
+
+public enum UserEventType { CREATED, BLOCKED, UNBLOCKED }
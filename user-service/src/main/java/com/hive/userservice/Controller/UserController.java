@@ -5,14 +5,21 @@ import com.hive.userservice.Entity.User;
 import com.hive.userservice.Exception.InvalidUserDetailsException;
 import com.hive.userservice.Exception.UserNotFoundException;
 import com.hive.userservice.Service.ComplaintsService;
+import com.hive.userservice.Service.ImageService;
+import com.hive.userservice.Service.TypeaheadService;
 import com.hive.userservice.Service.UserConnectionService;
 import com.hive.userservice.Service.UserService;
 import com.hive.userservice.Utility.ImageType;
+import com.hive.userservice.Utility.ImageVariant;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -21,6 +28,7 @@ import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("api/user")
@@ -30,6 +38,8 @@ public class UserController {
     private final UserService service;
     private final ComplaintsService complaintsService;
     private final UserConnectionService connectionService;
+    private final ImageService imageService;
+    private final TypeaheadService typeaheadService;
 
     @GetMapping("profile")
     public ResponseEntity<UserDTO> getMyProfile(@RequestHeader(name = "Authorization") String authorizationHeader) {
@@ -72,11 +82,17 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
         try {
-            return ResponseEntity.ok(service.saveImage(file, type, authHeader));
+            return ResponseEntity.ok(imageService.saveImage(file, type, authHeader));
         }
         catch (UserNotFoundException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
+        catch (TaskRejectedException e) {
+            //? Image workers and their queue are full, shed the upload instead of piling up decodes
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                 .header(HttpHeaders.RETRY_AFTER, "5")
+                                 .build();
+        }
         catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -86,7 +102,7 @@ public class UserController {
     public ResponseEntity<ImageDTO> getProfileImage(@RequestParam("userID") Long userId,
                                                     @RequestParam("type") ImageType imageType) {
         try {
-            ImageDTO imageDTO = service.getImageByUserAndImageType(userId, imageType);
+            ImageDTO imageDTO = imageService.getImageByUserAndImageType(userId, imageType);
             if (imageDTO == null) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
@@ -94,18 +110,37 @@ public class UserController {
         } catch (UserNotFoundException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
-        /*
-        try {
-            byte[] imageBytes = service.getImageByUserAndImageType(userId, imageType);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.IMAGE_PNG);
-            return new ResponseEntity<>(imageBytes, headers, HttpStatus.OK);
-        } catch (UserNotFoundException e) {
+    }
+
+    //? Image bytes for <img src>. Versioned URLs (v = content hash, see ImageDTO.urls) are immutable,
+    //? unversioned ones are cached for an hour and then revalidated with the ETag (304 when unchanged)
+    @GetMapping("image/raw")
+    public ResponseEntity<Resource> getRawImage(@RequestParam("userID") Long userId,
+                                                @RequestParam("type") ImageType imageType,
+                                                @RequestParam(value = "variant", required = false) ImageVariant variant,
+                                                @RequestParam(value = "v", required = false) String version) {
+        ImageVariant resolved = variant == null ? ImageVariant.defaultFor(imageType) : variant;
+        if (resolved.getImageType() != imageType) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-        } catch (IOException e) {
+        }
+        try {
+            ImageService.ImageFile image = imageService.getImageFile(userId, resolved);
+            if (image == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            CacheControl cacheControl = image.version().equals(version)
+                    ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                    : CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic();
+            return ResponseEntity.ok()
+                    .cacheControl(cacheControl)
+                    .eTag(image.eTag())
+                    .contentType(image.contentType())
+                    .body(image.content());
+        }
+        catch (IOException e) {
+            log.error("[getRawImage] Unable to read image for user " + userId + " : " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
-        */
     }
 
     @GetMapping("exists-profile/{id}")
@@ -113,6 +148,17 @@ public class UserController {
         return ResponseEntity.ok(service.existsUserById(id));
     }
 
+    @GetMapping("active-profile/{id}")
+    public ResponseEntity<Boolean> isActiveUser(@PathVariable Long id){
+        return ResponseEntity.ok(service.isActiveUser(id));
+    }
+
+    @GetMapping("ids")
+    public ResponseEntity<List<Long>> getUserIds(@RequestParam(value = "afterId", defaultValue = "0") Long afterId,
+                                                 @RequestParam(value = "limit", defaultValue = "10000") Integer limit){
+        return ResponseEntity.ok(service.getUserIds(afterId, Math.min(limit, 10000)));
+    }
+
     @GetMapping("user-count")
     public ResponseEntity<Long> getTotalUsers(){
         return ResponseEntity.ok(service.getTotalUsers());
@@ -146,8 +192,16 @@ public class UserController {
     }
 
     @GetMapping("search")
-    public ResponseEntity<List<UserDTO>> search(@RequestParam("searchQuery") String searchQuery){
-        return ResponseEntity.ok(service.search(searchQuery));
+    public ResponseEntity<UserSearchPage> search(@RequestParam("searchQuery") String searchQuery,
+                                                 @RequestParam(name = "cursor", required = false) String cursor,
+                                                 @RequestParam(name = "pageSize", defaultValue = "20") Integer pageSize){
+        return ResponseEntity.ok(service.search(searchQuery, cursor, pageSize));
+    }
+
+    @GetMapping("typeahead")
+    public ResponseEntity<List<TypeaheadDTO>> typeahead(@RequestParam("prefix") String prefix,
+                                                        @RequestParam(name = "limit", defaultValue = "8") Integer limit){
+        return ResponseEntity.ok(typeaheadService.suggest(prefix, limit));
     }
 
     @GetMapping("complaints-search")
@@ -1,11 +1,14 @@
 package com.hive.userservice.DTO;
 
 import com.hive.userservice.Utility.ImageType;
+import com.hive.userservice.Utility.ImageVariant;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -14,7 +17,10 @@ public class ImageDTO {
     private Long id;
     private String name;
     private String type;
-    private byte[] image;
     private ImageType imageType;
     private Long userID;
-}
\ No newline at end of file
+    private Integer width;
+    private Integer height;
+    private String eTag;
+    private Map<ImageVariant, String> urls; //raw image endpoint per variant
+}
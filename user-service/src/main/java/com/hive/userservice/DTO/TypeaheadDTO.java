@@ -0,0 +1,16 @@
+package com.hive.userservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TypeaheadDTO {
+    private Long id; //1
+    private String username; //2
+    private String name; //3
+}
@@ -1,14 +1,22 @@
 package com.hive.userservice.Entity;
 
 import com.hive.userservice.Utility.ImageType;
+import com.hive.userservice.Utility.ImageVariant;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.sql.Timestamp;
+import java.util.EnumMap;
+import java.util.Map;
+
+//? Metadata only, the bytes live in the ImageStore under originalKey and one key per variant
 @Entity
-@Table(name="images")
+@Table(name="images", indexes = {
+        @Index(name = "idx_images_user_type", columnList = "user_id, image_type")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,15 +32,34 @@ public class Image {
     @Column(name = "type", nullable = false)
     private String type;
 
-    @Lob
-    @Column(name = "image", nullable = false)
-    private byte[] image;
-
     @Enumerated(EnumType.STRING)
     @Column(name = "image_type", nullable = false)
     private ImageType imageType;
 
+    @Column(name = "original_key")
+    private String originalKey;
+
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(name = "updated_on")
+    private Timestamp updatedOn;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "image_variants", joinColumns = @JoinColumn(name = "image_id"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "variant", length = 20)
+    @Column(name = "storage_key", nullable = false)
+    @Builder.Default
+    private Map<ImageVariant, String> variants = new EnumMap<>(ImageVariant.class);
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id",referencedColumnName = "id", nullable = false)
     private User user;
-}
\ No newline at end of file
+}
@@ -9,7 +9,9 @@ import lombok.NoArgsConstructor;
 import java.sql.Date;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_joined_date", columnList = "joined_date")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -4,6 +4,8 @@ import com.hive.userservice.Entity.Image;
 import com.hive.userservice.Entity.User;
 import com.hive.userservice.Utility.ImageType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +14,12 @@ import java.util.Optional;
 public interface ImageDAO extends JpaRepository<Image, Long> {
     Optional<Image> findByUserAndImageType(User user, ImageType imageType);
     Boolean existsByUserAndImageType(User user, ImageType imageType);
-}
\ No newline at end of file
+
+    //Raw image path : one indexed lookup, no Image or User entity is loaded
+    @Query(value = "SELECT v.storage_key FROM image_variants v JOIN images i ON i.id = v.image_id " +
+                   "WHERE i.user_id = :userId AND i.image_type = :imageType AND v.variant = :variant",
+           nativeQuery = true)
+    Optional<String> findVariantKey(@Param("userId") Long userId,
+                                    @Param("imageType") String imageType,
+                                    @Param("variant") String variant);
+}
@@ -1,11 +1,13 @@
 package com.hive.userservice.Repository;
 
+import com.hive.userservice.DTO.TypeaheadDTO;
 import com.hive.userservice.Entity.User;
 import com.hive.userservice.Utility.Role;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Date;
@@ -18,13 +20,46 @@ public interface UserDAO extends JpaRepository<User,Long> {
     Optional<User> findByUsername(String username);
     Page<User> findUsersByRole(Role role, Pageable pageable);
 
-    List<User> findUsersByUsernameContainingIgnoreCaseAndRole(String search, Role role);
-    List<User> findUsersByNameContainingIgnoreCaseAndRole(String search, Role role);
-    List<User> findUsersByEmailContainingIgnoreCaseAndRole(String search, Role role);
+    //? Rank : 4 exact username, 3 username prefix, 2 name or a word of the name prefix, 1 email prefix, 0 contains;
+    //? the fraction puts shorter usernames first inside a bucket. :filter is the contains pattern, or the prefix
+    //? pattern for queries too short for trigrams, so every branch of the OR has an index behind it
+    @Query(value = "SELECT m.id, m.rank FROM (" +
+                   "  SELECT u.id, CAST(CASE WHEN lower(u.username) = :exact THEN 4 " +
+                   "                         WHEN lower(u.username) LIKE :prefix THEN 3 " +
+                   "                         WHEN lower(u.name) LIKE :prefix OR lower(u.name) LIKE :wordPrefix THEN 2 " +
+                   "                         WHEN lower(u.email) LIKE :prefix THEN 1 " +
+                   "                         ELSE 0 END + 1.0 / (1 + length(u.username)) AS real) AS rank " +
+                   "  FROM users u " +
+                   "  WHERE u.role = 'USER' " +
+                   "    AND (lower(u.username) LIKE :filter OR lower(u.name) LIKE :filter OR lower(u.email) LIKE :filter)) m " +
+                   "WHERE m.rank < CAST(:rank AS real) OR (m.rank = CAST(:rank AS real) AND m.id < :userId) " +
+                   "ORDER BY m.rank DESC, m.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> searchUsers(@Param("exact") String exact,
+                               @Param("prefix") String prefix,
+                               @Param("wordPrefix") String wordPrefix,
+                               @Param("filter") String filter,
+                               @Param("rank") Float rank,
+                               @Param("userId") Long userId,
+                               @Param("limit") Integer limit);
 
-    Integer countAllByJoinDate(Date joinDate);
-    @Query("SELECT COUNT(u) FROM User u where year(u.joinDate) = ?1 and month(u.joinDate) = ?2")
-    Integer countAllByDateYearAndDateMonth(int year, int month);
+    @Query("SELECT u.id FROM User u WHERE u.id > ?1 AND u.isBlocked = false ORDER BY u.id")
+    List<Long> findActiveIdsAfter(Long afterId, Pageable pageable);
+
+    Boolean existsByIdAndIsBlocked(Long id, Boolean isBlocked);
+
+    @Query("SELECT new com.hive.userservice.DTO.TypeaheadDTO(u.id, u.username, u.name) FROM User u " +
+           "WHERE u.id > ?1 AND u.role = ?2 AND u.isBlocked = false ORDER BY u.id")
+    List<TypeaheadDTO> findTypeaheadAfter(Long afterId, Role role, Pageable pageable);
+
+    //? One row per non-empty bucket; :unit is a date_trunc field (day, week, month, year)
+    @Query(value = "SELECT CAST(date_trunc(:unit, CAST(u.joined_date AS timestamp)) AS date) AS bucket, COUNT(*) " +
+                   "FROM users u WHERE u.joined_date BETWEEN :startDate AND :endDate " +
+                   "GROUP BY 1 ORDER BY 1",
+           nativeQuery = true)
+    List<Object[]> countByJoinDateBucket(@Param("unit") String unit,
+                                         @Param("startDate") Date startDate,
+                                         @Param("endDate") Date endDate);
 
     //When isBlocked is All and joinDate
     Page<User> findByRoleAndJoinDate(Role role, Date joinDate, Pageable pageable);
@@ -0,0 +1,23 @@
+package com.hive.userservice.Service;
+
+import com.hive.userservice.DTO.ImageDTO;
+import com.hive.userservice.Exception.UserNotFoundException;
+import com.hive.userservice.Utility.ImageType;
+import com.hive.userservice.Utility.ImageVariant;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+public interface ImageService {
+    ImageDTO saveImage(MultipartFile file, ImageType imageType, String authHeader) throws UserNotFoundException, IOException;
+    ImageDTO getImageByUserAndImageType(Long userId, ImageType imageType) throws UserNotFoundException;
+    ImageDTO getImageByImageId(Long imageId);
+    Boolean existsImageByUserAndImageType(Long userId, ImageType imageType) throws UserNotFoundException;
+    Boolean existsImageByImageId(Long imageId);
+    ImageFile getImageFile(Long userId, ImageVariant variant) throws IOException;
+
+    //? version is the content hash, it changes on every upload and is what versioned URLs carry
+    record ImageFile(Resource content, MediaType contentType, String version, String eTag) { }
+}
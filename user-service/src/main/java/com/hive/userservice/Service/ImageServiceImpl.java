@@ -0,0 +1,512 @@
+package com.hive.userservice.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.hive.userservice.DTO.ImageDTO;
+import com.hive.userservice.DTO.UserDTO;
+import com.hive.userservice.Entity.Image;
+import com.hive.userservice.Entity.User;
+import com.hive.userservice.Exception.UserNotFoundException;
+import com.hive.userservice.Repository.ImageDAO;
+import com.hive.userservice.Repository.UserDAO;
+import com.hive.userservice.Utility.ImageType;
+import com.hive.userservice.Utility.ImageUtil;
+import com.hive.userservice.Utility.ImageVariant;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/*
+ * Profile and cover images.
+ *  - The images row is metadata only : the upload is kept under originalKey and every ImageVariant is rendered
+ *    once at upload time into the ImageStore, keyed by user, type and content hash.
+ *  - Rendering runs on the bounded imageExecutor, the request thread only stages the upload to disk and writes
+ *    the metadata row once the files are in place. No transaction is open while an image is being decoded.
+ *  - Reads go through two tiers : small variants (avatars) are held in a size-bounded memory cache,
+ *    everything else is streamed from the store.
+ *  - Rows from before the store still carry the bytes in the images.image LOB; they are moved out at startup.
+ */
+@Service
+public class ImageServiceImpl implements ImageService {
+    private static final Logger log = LoggerFactory.getLogger(ImageServiceImpl.class);
+    private static final String NO_IMAGE = "";
+    private static final int MIGRATION_BATCH = 50;
+    private final ImageDAO imageDao;
+    private final UserDAO userDao;
+    private final UserService userService;
+    private final ImageStore imageStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor imageExecutor;
+    private final Long processTimeoutMs;
+    private final Cache<String, byte[]> memoryTier;
+    private final Cache<String, String> variantKeys;
+    private final Integer memoryMaxEntryBytes;
+
+    public ImageServiceImpl(ImageDAO imageDao,
+                            UserDAO userDao,
+                            UserService userService,
+                            ImageStore imageStore,
+                            JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            @Qualifier("imageExecutor") ThreadPoolTaskExecutor imageExecutor,
+                            @Value("${IMAGE.PROCESS-TIMEOUT-MS:30000}") Long processTimeoutMs,
+                            @Value("${IMAGE.MEMORY-CACHE-MB:64}") Integer memoryCacheMb,
+                            @Value("${IMAGE.MEMORY-MAX-ENTRY-BYTES:65536}") Integer memoryMaxEntryBytes,
+                            @Value("${IMAGE.NO-IMAGE-TTL-MS:5000}") Long noImageTtlMs) {
+        this.imageDao = imageDao;
+        this.userDao = userDao;
+        this.userService = userService;
+        this.imageStore = imageStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.imageExecutor = imageExecutor;
+        this.processTimeoutMs = processTimeoutMs;
+        this.memoryMaxEntryBytes = memoryMaxEntryBytes;
+        this.memoryTier = Caffeine.newBuilder()
+                .maximumWeight(memoryCacheMb * 1024L * 1024L)
+                .weigher((String key, byte[] bytes) -> bytes.length)
+                .build();
+        //? userId:variant -> storage key, NO_IMAGE for users without one so the default avatar never hits the DB.
+        //? An upload only invalidates the instance that took it, so NO_IMAGE lives for seconds, not minutes :
+        //? a new avatar shows up everywhere within IMAGE.NO-IMAGE-TTL-MS
+        Duration noImageTtl = Duration.ofMillis(noImageTtlMs);
+        this.variantKeys = Caffeine.newBuilder()
+                .maximumSize(200_000)
+                .expireAfter(new Expiry<String, String>() {
+                    @Override
+                    public long expireAfterCreate(String key, String value, long currentTime) {
+                        return (NO_IMAGE.equals(value) ? noImageTtl : Duration.ofMinutes(10)).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, String value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, String value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public ImageDTO saveImage(MultipartFile file, ImageType imageType, String authHeader)
+    throws UserNotFoundException, IOException {
+        UserDTO currentUser = userService.getCurrentUserProfile(authHeader);
+        Long userId = currentUser.getId();
+        String extension = ImageUtil.extensionOf(file.getOriginalFilename(), file.getContentType());
+
+        //? Large parts are already on disk, transferTo is a rename and the upload never sits on the heap
+        Path staged = Files.createTempFile("image-upload-", "." + extension);
+        RenderTask task = new RenderTask(staged, userId, imageType, extension);
+        RenderedImage rendered;
+        try {
+            file.transferTo(staged);
+            //? Throws TaskRejectedException when the pool and its queue are full
+            rendered = task.await(imageExecutor.submit(task));
+        }
+        finally {
+            //? Once a worker has picked the task up the staged file is its to move or delete
+            if (task.abandonUnstarted()) {
+                Files.deleteIfExists(staged);
+            }
+        }
+
+        Set<String> replaced = new HashSet<>();
+        Image saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                User user = userDao.getReferenceById(userId);
+                Image image = imageDao.findByUserAndImageType(user, imageType)
+                        .orElseGet(() -> Image.builder().user(user).imageType(imageType).build());
+                image.setName(file.getOriginalFilename() == null ? "image" : file.getOriginalFilename());
+                image.setType(file.getContentType() == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : file.getContentType());
+                replaced.addAll(applyTo(image, rendered));
+                return imageDao.save(image);
+            });
+        }
+        catch (RuntimeException e) {
+            deleteOrphaned(rendered.keys(), userId, imageType);
+            throw e;
+        }
+
+        //? Old files go only once the new keys are committed, a failed save keeps the previous image intact
+        ImageVariant.of(imageType).forEach(variant -> variantKeys.invalidate(variantCacheKey(userId, variant)));
+        deleteKeys(replaced);
+        return entityToDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public ImageDTO getImageByUserAndImageType(Long userId, ImageType imageType) throws UserNotFoundException {
+        User user = userDao.findById(userId)
+                    .orElseThrow(() -> new UserNotFoundException("[getImageByUserAndImageType] User with userID: " + userId));
+
+        return imageDao.findByUserAndImageType(user, imageType)
+                .map(this::entityToDTO)
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional
+    public ImageDTO getImageByImageId(Long imageId) {
+        return imageDao.findById(imageId)
+                .map(this::entityToDTO)
+                .orElseThrow(RuntimeException::new);
+    }
+
+    @Override
+    public Boolean existsImageByUserAndImageType(Long userId, ImageType imageType) throws UserNotFoundException {
+        User user = userDao.findById(userId)
+                    .orElseThrow(() -> new UserNotFoundException("[getImageByUserAndImageType] User with userID: " + userId));
+        return imageDao.existsByUserAndImageType(user, imageType);
+    }
+
+    @Override
+    public Boolean existsImageByImageId(Long imageId) {
+        return imageDao.existsById(imageId);
+    }
+
+    @Override
+    public ImageFile getImageFile(Long userId, ImageVariant variant) throws IOException {
+        String key = variantKey(userId, variant);
+        if (key == null) {
+            return null;
+        }
+        try {
+            return load(key, variant);
+        }
+        catch (NoSuchFileException e) {
+            //? Replaced by an upload on another instance : the cached key is stale, look it up once more
+            variantKeys.invalidate(variantCacheKey(userId, variant));
+            key = variantKey(userId, variant);
+            return key == null ? null : load(key, variant);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyImages() {
+        String dataType = jdbcTemplate.query(
+                "SELECT data_type FROM information_schema.columns WHERE table_name = 'images' AND column_name = 'image'",
+                rs -> rs.next() ? rs.getString(1) : null);
+        if (dataType == null) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE images ALTER COLUMN image DROP NOT NULL");
+        //? Hibernate maps @Lob byte[] to a large object (oid) on Postgres, older schemas may hold bytea
+        boolean largeObject = "oid".equals(dataType);
+        String bytes = largeObject ? "lo_get(image)" : "image";
+
+        long lastId = 0;
+        int migrated = 0;
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList("SELECT id FROM images WHERE image IS NOT NULL AND id > ? ORDER BY id LIMIT ?",
+                                            Long.class, lastId, MIGRATION_BATCH);
+            for (Long id : ids) {
+                lastId = id;
+                try {
+                    migrateLegacyImage(id, bytes, largeObject);
+                    migrated++;
+                }
+                catch (Exception e) {
+                    log.error("[migrateLegacyImages] Unable to move image " + id + " to the image store", e);
+                }
+            }
+        } while (!ids.isEmpty());
+
+        Integer remaining = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM images WHERE image IS NOT NULL", Integer.class);
+        if (remaining != null && remaining == 0) {
+            jdbcTemplate.execute("ALTER TABLE images DROP COLUMN image");
+        }
+        log.info("[migrateLegacyImages] Moved {} images to the image store, {} left in the database", migrated, remaining);
+    }
+
+    private void migrateLegacyImage(Long id, String bytes, boolean largeObject) throws IOException {
+        byte[] content = jdbcTemplate.queryForObject("SELECT " + bytes + " FROM images WHERE id = ?", byte[].class, id);
+        Image image = imageDao.findById(id)
+                .orElseThrow(() -> new RuntimeException("[migrateLegacyImage] Image not found with id: " + id));
+        //? Legacy bytes were re-encoded to PNG by the old upload path
+        Path staged = Files.createTempFile("image-legacy-", ".png");
+        try {
+            Files.write(staged, content);
+            RenderedImage rendered = renderImage(staged, image.getUser().getId(), image.getImageType(), "png", () -> false);
+            deleteKeys(applyTo(image, rendered));
+        }
+        finally {
+            Files.deleteIfExists(staged);
+        }
+        imageDao.save(image);
+        if (largeObject) {
+            jdbcTemplate.queryForList("SELECT lo_unlink(image) FROM images WHERE id = ?", id);
+        }
+        jdbcTemplate.update("UPDATE images SET image = NULL WHERE id = ?", id);
+    }
+
+    //? Runs on an image worker : decode once (subsampled), render every variant, move the original into the store.
+    //? Stops before every store write once the upload has been abandoned, removing what it already wrote
+    private RenderedImage renderImage(Path staged, Long userId, ImageType imageType, String extension,
+                                      BooleanSupplier abandoned) throws IOException {
+        List<ImageVariant> variantsOfType = ImageVariant.of(imageType);
+        String prefix = "user-" + userId + "/" + imageType.name().toLowerCase() + "/" + contentHash(staged);
+        long sizeBytes = Files.size(staged);
+        ImageUtil.DecodedImage decoded = ImageUtil.decode(staged, variantsOfType);
+
+        Map<ImageVariant, String> variants = new EnumMap<>(ImageVariant.class);
+        try {
+            for (ImageVariant variant : variantsOfType) {
+                ImageUtil.EncodedImage encoded = ImageUtil.render(decoded.image(), variant);
+                String key = prefix + "_" + variant.name().toLowerCase() + "." + encoded.extension();
+                checkAbandoned(abandoned);
+                imageStore.put(key, encoded.bytes());
+                variants.put(variant, key);
+            }
+            String originalKey = prefix + "_original." + extension;
+            checkAbandoned(abandoned);
+            imageStore.put(originalKey, staged);
+            return new RenderedImage(originalKey, variants, decoded.sourceWidth(), decoded.sourceHeight(), sizeBytes);
+        }
+        catch (IOException | RuntimeException e) {
+            deleteOrphaned(variants.values(), userId, imageType);
+            throw e;
+        }
+    }
+
+    //? Keys of an identical re-upload are the live ones, everything else from this upload is orphaned
+    private void deleteOrphaned(Collection<String> keys, Long userId, ImageType imageType) {
+        Set<String> orphaned = new HashSet<>(keys);
+        imageDao.findByUserAndImageType(userDao.getReferenceById(userId), imageType)
+                .ifPresent(current -> orphaned.removeAll(keysOf(current)));
+        deleteKeys(orphaned);
+    }
+
+    private static void checkAbandoned(BooleanSupplier abandoned) throws InterruptedIOException {
+        if (abandoned.getAsBoolean() || Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("[renderImage] Upload abandoned");
+        }
+    }
+
+    //? Fills in the metadata and returns the keys this upload replaced
+    private Set<String> applyTo(Image image, RenderedImage rendered) {
+        Set<String> replaced = keysOf(image);
+        image.setOriginalKey(rendered.originalKey());
+        image.getVariants().clear();
+        image.getVariants().putAll(rendered.variants());
+        image.setWidth(rendered.width());
+        image.setHeight(rendered.height());
+        image.setSizeBytes(rendered.sizeBytes());
+        image.setUpdatedOn(Timestamp.from(Instant.now()));
+        replaced.removeAll(rendered.keys());
+        return replaced;
+    }
+
+    private static Set<String> keysOf(Image image) {
+        Set<String> keys = new HashSet<>(image.getVariants().values());
+        if (image.getOriginalKey() != null) {
+            keys.add(image.getOriginalKey());
+        }
+        return keys;
+    }
+
+    private ImageFile load(String key, ImageVariant variant) throws IOException {
+        MediaType contentType = MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        String version = versionOf(key);
+        String eTag = "\"" + version + "-" + variant.name().toLowerCase() + "\"";
+
+        byte[] cached = memoryTier.getIfPresent(key);
+        if (cached != null) {
+            return new ImageFile(new ByteArrayResource(cached), contentType, version, eTag);
+        }
+        Path path = imageStore.locate(key);
+        if (Files.size(path) <= memoryMaxEntryBytes) {
+            byte[] bytes = Files.readAllBytes(path);
+            memoryTier.put(key, bytes);
+            return new ImageFile(new ByteArrayResource(bytes), contentType, version, eTag);
+        }
+        return new ImageFile(new FileSystemResource(path), contentType, version, eTag);
+    }
+
+    private String variantKey(Long userId, ImageVariant variant) {
+        String key = variantKeys.get(variantCacheKey(userId, variant), ignored -> imageDao
+                .findVariantKey(userId, variant.getImageType().name(), variant.name())
+                .orElse(NO_IMAGE));
+        return NO_IMAGE.equals(key) ? null : key;
+    }
+
+    private void deleteKeys(Collection<String> keys) {
+        for (String key : keys) {
+            memoryTier.invalidate(key);
+            try {
+                imageStore.delete(key);
+            }
+            catch (IOException e) {
+                log.warn("[deleteKeys] Unable to delete image " + key + " : " + e.getMessage());
+            }
+        }
+    }
+
+    private ImageDTO entityToDTO(Image image) {
+        Long userId = image.getUser().getId();
+        Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+        image.getVariants().forEach((variant, key) -> urls.put(variant,
+                "/api/user/image/raw?userID=" + userId + "&type=" + image.getImageType() +
+                "&variant=" + variant + "&v=" + versionOf(key)));
+        String defaultKey = image.getVariants().get(ImageVariant.defaultFor(image.getImageType()));
+        return ImageDTO.builder()
+                .id(image.getId())
+                .name(image.getName())
+                .type(image.getType())
+                .imageType(image.getImageType())
+                .userID(userId)
+                .width(image.getWidth())
+                .height(image.getHeight())
+                .eTag(defaultKey == null ? null : versionOf(defaultKey))
+                .urls(urls)
+                .build();
+    }
+
+    private static String variantCacheKey(Long userId, ImageVariant variant) {
+        return userId + ":" + variant;
+    }
+
+    //? <prefix>/<hash>_<variant>.<ext> -> <hash>
+    private static String versionOf(String key) {
+        String fileName = key.substring(key.lastIndexOf('/') + 1);
+        int separator = fileName.indexOf('_');
+        return separator > 0 ? fileName.substring(0, separator) : fileName;
+    }
+
+    private static String contentHash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(java.io.OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+    }
+
+    /*
+     * One upload on the image pool. QUEUED -> RUNNING -> DONE on the worker; the request thread moves QUEUED -> CANCELLED
+     * or RUNNING -> ABANDONED when it gives up. The staged file belongs to the request until a worker starts, then to
+     * the worker. The worker only hands back a result it moved to DONE itself, so a render that
+     * finishes after the timeout deletes its own files instead of leaving keys no row points at.
+     */
+    private final class RenderTask implements Callable<RenderedImage> {
+        private static final int QUEUED = 0, RUNNING = 1, DONE = 2, ABANDONED = 3, CANCELLED = 4;
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private final Path staged;
+        private final Long userId;
+        private final ImageType imageType;
+        private final String extension;
+
+        RenderTask(Path staged, Long userId, ImageType imageType, String extension) {
+            this.staged = staged;
+            this.userId = userId;
+            this.imageType = imageType;
+            this.extension = extension;
+        }
+
+        @Override
+        public RenderedImage call() throws IOException {
+            if (!state.compareAndSet(QUEUED, RUNNING)) {
+                return null;
+            }
+            try {
+                RenderedImage rendered = renderImage(staged, userId, imageType, extension,
+                                                     () -> state.get() == ABANDONED);
+                if (!state.compareAndSet(RUNNING, DONE)) {
+                    deleteOrphaned(rendered.keys(), userId, imageType);
+                    throw new InterruptedIOException("[renderImage] Upload abandoned");
+                }
+                return rendered;
+            }
+            finally {
+                Files.deleteIfExists(staged);
+            }
+        }
+
+        RenderedImage await(Future<RenderedImage> future) throws IOException {
+            try {
+                try {
+                    return future.get(processTimeoutMs, TimeUnit.MILLISECONDS);
+                }
+                catch (TimeoutException e) {
+                    if (state.compareAndSet(QUEUED, CANCELLED) || state.compareAndSet(RUNNING, ABANDONED)) {
+                        future.cancel(true);
+                        throw new IOException("[awaitRender] Image processing took longer than " + processTimeoutMs + " ms");
+                    }
+                    //? DONE in between : the result is ours
+                    return future.get();
+                }
+            }
+            catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException io ? io : new IOException("[awaitRender] Image processing failed", e.getCause());
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!state.compareAndSet(QUEUED, CANCELLED)) {
+                    state.compareAndSet(RUNNING, ABANDONED);
+                }
+                future.cancel(true);
+                throw new IOException("[awaitRender] Interrupted while processing image");
+            }
+        }
+
+        //? True when no worker has touched the task (rejected, failed before submit, timed out in the queue)
+        boolean abandonUnstarted() {
+            return state.compareAndSet(QUEUED, CANCELLED) || state.get() == CANCELLED;
+        }
+    }
+
+    private record RenderedImage(String originalKey, Map<ImageVariant, String> variants,
+                                 int width, int height, long sizeBytes) {
+        Set<String> keys() {
+            Set<String> keys = new HashSet<>(variants.values());
+            keys.add(originalKey);
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.hive.userservice.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+//? Where image bytes live. Keys are opaque, relative and never reused for different content
+public interface ImageStore {
+    void put(String key, byte[] content) throws IOException;
+    void put(String key, Path source) throws IOException; //moves source into the store
+    Path locate(String key) throws IOException;
+    void delete(String key) throws IOException;
+}
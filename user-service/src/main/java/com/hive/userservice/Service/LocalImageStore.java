@@ -0,0 +1,80 @@
+package com.hive.userservice.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.UUID;
+
+//? Filesystem tier : <root>/<key>, written to a temp file and moved into place so readers never see half a file
+@Service
+public class LocalImageStore implements ImageStore {
+    private final Path root;
+
+    public LocalImageStore(@Value("${IMAGE.STORE.ROOT:image-store/}") String root) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void put(String key, byte[] content) throws IOException {
+        Path target = pathFor(key);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(UUID.randomUUID() + ".part");
+        try {
+            Files.write(temp, content);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        Path target = pathFor(key);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException e) {
+            //? Other filesystem : copy beside the target first so the final rename is still atomic
+            Path temp = target.resolveSibling(UUID.randomUUID() + ".part");
+            try {
+                Files.copy(source, temp);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                Files.delete(source);
+            }
+            finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    @Override
+    public Path locate(String key) throws IOException {
+        Path path = pathFor(key);
+        if (!Files.isRegularFile(path)) {
+            throw new NoSuchFileException(key);
+        }
+        return path;
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(pathFor(key));
+    }
+
+    private Path pathFor(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new RuntimeException("[pathFor] Invalid image key " + key);
+        }
+        return path;
+    }
+}
@@ -1,6 +1,8 @@
 package com.hive.userservice.Service;
 
 import com.hive.DTO.Notification;
+import com.hive.DTO.UserEvent;
+import com.hive.Utility.UserEventType;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +15,7 @@ import java.util.concurrent.CompletableFuture;
 @RequiredArgsConstructor
 public class MessageQueueService {
     private static final Logger log = LoggerFactory.getLogger(MessageQueueService.class);
+    private static final String USER_EVENT_TOPIC = "user-events";
     private final KafkaTemplate<String,Object> template;
 
     public void sendMessageToTopic(String topic, Notification message) {
@@ -32,4 +35,20 @@ public class MessageQueueService {
             throw new RuntimeException(e.getMessage());
         }
     }
+
+    //? Fire and forget : consumers refresh their view of users on a schedule and catch up on anything they missed
+    public void sendUserEvent(Long userId, UserEventType eventType) {
+        UserEvent event = new UserEvent(userId, eventType);
+        try {
+            template.send(USER_EVENT_TOPIC, String.valueOf(userId), event)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.warn("Unable to send {} due to : {}", event, ex.getMessage());
+                        }
+                    });
+        }
+        catch (Exception e) {
+            log.warn("Unable to send {} due to : {}", event, e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.hive.userservice.Service;
+
+import com.hive.userservice.Utility.SignupGranularity;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface SignupAnalyticsService {
+    Map<LocalDate, Integer> countSignups(LocalDate startDate, LocalDate endDate, SignupGranularity granularity);
+}
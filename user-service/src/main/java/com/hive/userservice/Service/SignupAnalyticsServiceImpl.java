@@ -0,0 +1,74 @@
+package com.hive.userservice.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hive.userservice.Repository.UserDAO;
+import com.hive.userservice.Utility.SignupGranularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Sign-up counts per day / week / month / year.
+ * A range is answered by one GROUP BY date_trunc query over users.joined_date. Buckets that are over (they end
+ * before today) and fully inside the requested range never change again, so they are cached; a dashboard load
+ * then only queries from the first uncached bucket, which is normally the current one.
+ */
+@Service
+@RequiredArgsConstructor
+public class SignupAnalyticsServiceImpl implements SignupAnalyticsService {
+    private final UserDAO userDao;
+    private final Cache<BucketKey, Integer> closedBuckets = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    @Override
+    public Map<LocalDate, Integer> countSignups(LocalDate startDate, LocalDate endDate, SignupGranularity granularity) {
+        if (startDate.isAfter(endDate))
+            throw new RuntimeException("[countSignups] Invalid range " + startDate + " - " + endDate);
+
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, Integer> counts = new LinkedHashMap<>();
+        LocalDate queryFrom = null;
+        for (LocalDate bucket = granularity.truncate(startDate); !bucket.isAfter(endDate); bucket = granularity.next(bucket)) {
+            Integer cached = isClosed(bucket, startDate, endDate, today, granularity)
+                    ? closedBuckets.getIfPresent(new BucketKey(granularity, bucket))
+                    : null;
+            if (cached == null && queryFrom == null) {
+                queryFrom = bucket;
+            }
+            counts.put(bucket, cached == null ? 0 : cached);
+        }
+        if (queryFrom == null) {
+            return counts;
+        }
+
+        LocalDate from = queryFrom.isBefore(startDate) ? startDate : queryFrom;
+        List<Object[]> rows = userDao.countByJoinDateBucket(granularity.unit(), Date.valueOf(from), Date.valueOf(endDate));
+        for (Object[] row : rows) {
+            LocalDate bucket = row[0] instanceof Date date ? date.toLocalDate() : (LocalDate) row[0];
+            counts.put(bucket, ((Number) row[1]).intValue());
+        }
+        for (Map.Entry<LocalDate, Integer> entry : counts.entrySet()) {
+            LocalDate bucket = entry.getKey();
+            if (!bucket.isBefore(queryFrom) && isClosed(bucket, startDate, endDate, today, granularity)) {
+                closedBuckets.put(new BucketKey(granularity, bucket), entry.getValue());
+            }
+        }
+        return counts;
+    }
+
+    //? A partial bucket at either end of the range only holds part of its count, it is never cached
+    private static boolean isClosed(LocalDate bucket, LocalDate startDate, LocalDate endDate,
+                                    LocalDate today, SignupGranularity granularity) {
+        LocalDate next = granularity.next(bucket);
+        return !bucket.isBefore(startDate) && !next.isAfter(endDate.plusDays(1)) && !next.isAfter(today);
+    }
+
+    private record BucketKey(SignupGranularity granularity, LocalDate bucket) { }
+}
@@ -0,0 +1,12 @@
+package com.hive.userservice.Service;
+
+import com.hive.userservice.DTO.TypeaheadDTO;
+
+import java.util.List;
+
+public interface TypeaheadService {
+    List<TypeaheadDTO> suggest(String prefix, Integer limit);
+    void upsert(TypeaheadDTO user);
+    void remove(Long userId);
+    void refresh();
+}
@@ -0,0 +1,243 @@
+package com.hive.userservice.Service;
+
+import com.hive.userservice.DTO.TypeaheadDTO;
+import com.hive.userservice.Repository.UserDAO;
+import com.hive.userservice.Utility.Role;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Username / name typeahead served from memory.
+ *  - The index is an immutable snapshot : one array of users and two sorted key arrays (lower-cased usernames,
+ *    lower-cased full names plus every later word of the name) pointing at user slots. A lookup is a binary search
+ *    to the first key >= prefix and a forward scan while keys still start with it.
+ *  - Profile updates and blocks land in a small overlay (pending) that shadows the snapshot. The refresh tick pulls
+ *    users signed up since the last tick (auth-server writes them) and folds the overlay into a new snapshot once
+ *    it grows past COMPACT_THRESHOLD.
+ *  - The overlay only sees changes made through this instance, so the snapshot is also rebuilt from the database
+ *    every TYPEAHEAD.REBUILD-MS; a rename or block done on another instance shows up here within that interval.
+ */
+@Service
+@RequiredArgsConstructor
+public class TypeaheadServiceImpl implements TypeaheadService {
+    private static final Logger log = LoggerFactory.getLogger(TypeaheadServiceImpl.class);
+    private static final int LOAD_BATCH_SIZE = 5_000;
+    private static final int COMPACT_THRESHOLD = 1_024;
+    private static final int MAX_LIMIT = 20;
+    private final UserDAO userDao;
+    //? userId -> latest state, a null user hides the id (blocked)
+    private final Map<Long, Change> pending = new ConcurrentHashMap<>();
+    private volatile Index index;
+    private volatile long lastLoadedId = 0;
+
+    @Override
+    public List<TypeaheadDTO> suggest(String prefix, Integer limit) {
+        Index current = index;
+        String query = normalize(prefix);
+        if (current == null || query.isEmpty()) {
+            return List.of();
+        }
+        limit = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        //? Username hits rank above name hits; inside each group keys come back in sorted order, so "ann" < "anna"
+        List<Hit> usernameHits = current.scan(current.usernameKeys, current.usernameSlots, query, limit, pending);
+        List<Hit> nameHits = current.scan(current.nameKeys, current.nameSlots, query, limit, pending);
+        for (Change change : pending.values()) {
+            TypeaheadDTO user = change.user();
+            if (user == null) {
+                continue;
+            }
+            String username = user.getUsername().toLowerCase(Locale.ROOT);
+            if (username.startsWith(query)) {
+                usernameHits.add(new Hit(username, user));
+                continue;
+            }
+            for (String key : nameKeysOf(user.getName())) {
+                if (key.startsWith(query)) {
+                    nameHits.add(new Hit(key, user));
+                    break;
+                }
+            }
+        }
+        usernameHits.sort(Comparator.comparing(Hit::key));
+        nameHits.sort(Comparator.comparing(Hit::key));
+
+        Set<Long> seen = new HashSet<>();
+        List<TypeaheadDTO> suggestions = new ArrayList<>(limit);
+        for (List<Hit> hits : List.of(usernameHits, nameHits)) {
+            for (Hit hit : hits) {
+                if (suggestions.size() == limit) {
+                    return suggestions;
+                }
+                if (seen.add(hit.user().getId())) {
+                    suggestions.add(hit.user());
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    @Override
+    public void upsert(TypeaheadDTO user) {
+        pending.put(user.getId(), new Change(user));
+    }
+
+    @Override
+    public void remove(Long userId) {
+        pending.put(userId, new Change(null));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${TYPEAHEAD.REBUILD-MS:300000}", initialDelayString = "${TYPEAHEAD.REBUILD-MS:300000}")
+    public void rebuild() {
+        //? Changes in the overlay now were saved before the load starts, so the load already contains them
+        Map<Long, Change> applied = new HashMap<>(pending);
+        List<TypeaheadDTO> users = new ArrayList<>();
+        long afterId = loadAfter(0, users);
+        index = Index.build(users);
+        lastLoadedId = Math.max(lastLoadedId, afterId);
+        applied.forEach(pending::remove);
+        log.info("[rebuild] Typeahead index built with {} users", users.size());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${TYPEAHEAD.REFRESH-MS:5000}")
+    public void refresh() {
+        Index current = index;
+        if (current == null) {
+            return;
+        }
+        List<TypeaheadDTO> signedUp = new ArrayList<>();
+        lastLoadedId = loadAfter(lastLoadedId, signedUp);
+        //? putIfAbsent : an update that raced the load is newer than the row we just read
+        signedUp.forEach(user -> pending.putIfAbsent(user.getId(), new Change(user)));
+
+        if (pending.size() < COMPACT_THRESHOLD) {
+            return;
+        }
+        Map<Long, Change> folded = new HashMap<>(pending);
+        index = current.merge(folded);
+        //? Only drop entries that were folded in, changes made during the merge stay in the overlay
+        folded.forEach(pending::remove);
+        log.debug("[refresh] Typeahead index compacted, {} changes folded in", folded.size());
+    }
+
+    private long loadAfter(long afterId, List<TypeaheadDTO> into) {
+        List<TypeaheadDTO> batch;
+        do {
+            batch = userDao.findTypeaheadAfter(afterId, Role.USER, PageRequest.of(0, LOAD_BATCH_SIZE));
+            into.addAll(batch);
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        return afterId;
+    }
+
+    private static String normalize(String prefix) {
+        return prefix == null ? "" : prefix.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    //? "John Smith" -> "john smith", "smith"
+    private static List<String> nameKeysOf(String name) {
+        String full = normalize(name);
+        if (full.isEmpty()) {
+            return List.of();
+        }
+        List<String> keys = new ArrayList<>(2);
+        keys.add(full);
+        int space = full.indexOf(' ');
+        while (space >= 0) {
+            keys.add(full.substring(space + 1));
+            space = full.indexOf(' ', space + 1);
+        }
+        return keys;
+    }
+
+    private record Change(TypeaheadDTO user) { }
+
+    private record Hit(String key, TypeaheadDTO user) { }
+
+    private record Key(String key, int slot) { }
+
+    private record Index(TypeaheadDTO[] users,
+                         String[] usernameKeys, int[] usernameSlots,
+                         String[] nameKeys, int[] nameSlots) {
+
+        static Index build(List<TypeaheadDTO> users) {
+            TypeaheadDTO[] slots = users.toArray(new TypeaheadDTO[0]);
+            List<Key> usernames = new ArrayList<>(slots.length);
+            List<Key> names = new ArrayList<>(slots.length);
+            for (int slot = 0; slot < slots.length; slot++) {
+                usernames.add(new Key(slots[slot].getUsername().toLowerCase(Locale.ROOT), slot));
+                for (String key : nameKeysOf(slots[slot].getName())) {
+                    names.add(new Key(key, slot));
+                }
+            }
+            usernames.sort(Comparator.comparing(Key::key));
+            names.sort(Comparator.comparing(Key::key));
+            return new Index(slots,
+                             usernames.stream().map(Key::key).toArray(String[]::new),
+                             usernames.stream().mapToInt(Key::slot).toArray(),
+                             names.stream().map(Key::key).toArray(String[]::new),
+                             names.stream().mapToInt(Key::slot).toArray());
+        }
+
+        Index merge(Map<Long, Change> changes) {
+            List<TypeaheadDTO> merged = new ArrayList<>(users.length + changes.size());
+            for (TypeaheadDTO user : users) {
+                if (!changes.containsKey(user.getId())) {
+                    merged.add(user);
+                }
+            }
+            for (Change change : changes.values()) {
+                if (change.user() != null) {
+                    merged.add(change.user());
+                }
+            }
+            return build(merged);
+        }
+
+        //? Ids in the overlay are skipped here, their current state is matched from the overlay itself
+        List<Hit> scan(String[] keys, int[] slots, String prefix, int limit, Map<Long, Change> shadowed) {
+            List<Hit> hits = new ArrayList<>(limit);
+            for (int i = lowerBound(keys, prefix); i < keys.length && hits.size() < limit; i++) {
+                if (!keys[i].startsWith(prefix)) {
+                    break;
+                }
+                TypeaheadDTO user = users[slots[i]];
+                if (!shadowed.containsKey(user.getId())) {
+                    hits.add(new Hit(keys[i], user));
+                }
+            }
+            return hits;
+        }
+
+        private static int lowerBound(String[] keys, String prefix) {
+            int low = 0, high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                }
+                else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.hive.userservice.Service;
+
+import com.hive.userservice.Utility.SearchCursor;
+
+import java.util.List;
+
+public interface UserSearchService {
+    List<SearchMatch> search(String searchQuery, SearchCursor cursor, Integer limit);
+
+    record SearchMatch(Long userId, Float rank) {}
+}
@@ -0,0 +1,88 @@
+package com.hive.userservice.Service;
+
+import com.hive.userservice.Repository.UserDAO;
+import com.hive.userservice.Utility.ConcurrentIndex;
+import com.hive.userservice.Utility.SearchCursor;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ * User search in a single query over users.
+ * username, name and email each carry a pg_trgm GIN index (substring match) and a text_pattern_ops btree (prefix
+ * match for one and two character queries, which have no trigrams). The query returns every user once, ranks exact
+ * and prefix hits above plain substring hits and is paged by (rank, id), so a keystroke costs one bounded lookup.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSearchServiceImpl implements UserSearchService {
+    private static final Logger log = LoggerFactory.getLogger(UserSearchServiceImpl.class);
+    private static final int MAX_QUERY_LENGTH = 64;
+    private static final int MIN_TRIGRAM_LENGTH = 3;
+    private static final List<String> SEARCH_COLUMNS = List.of("username", "name", "email");
+    private final UserDAO userDao;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<SearchMatch> search(String searchQuery, SearchCursor cursor, Integer limit) {
+        String query = normalize(searchQuery);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        String escaped = escapeLike(query);
+        String prefix = escaped + "%";
+        String filter = query.length() < MIN_TRIGRAM_LENGTH ? prefix : "%" + prefix;
+        List<Object[]> rows = userDao.searchUsers(query, prefix, "% " + prefix, filter, cursor.rank(), cursor.id(), limit);
+        List<SearchMatch> matches = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            matches.add(new SearchMatch(((Number) row[0]).longValue(), ((Number) row[1]).floatValue()));
+        }
+        return matches;
+    }
+
+    //? Idempotent, runs after Hibernate has created / updated the users table. Each index on its own, so one failed
+    //? build neither hides the others nor stays behind INVALID (ConcurrentIndex rebuilds it)
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureSearchIndex() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        }
+        catch (Exception e) {
+            log.error("[ensureSearchIndex] Unable to create pg_trgm extension : {}", e.getMessage());
+        }
+        for (String column : SEARCH_COLUMNS) {
+            ensureIndex("idx_users_" + column + "_trgm", "ON users USING GIN (lower(" + column + ") gin_trgm_ops)");
+            ensureIndex("idx_users_" + column + "_prefix", "ON users (lower(" + column + ") text_pattern_ops)");
+        }
+    }
+
+    private void ensureIndex(String name, String definition) {
+        try {
+            ConcurrentIndex.ensure(jdbcTemplate, name, definition);
+        }
+        catch (Exception e) {
+            log.error("[ensureSearchIndex] Unable to create user search index {} : {}", name, e.getMessage());
+        }
+    }
+
+    private static String normalize(String searchQuery) {
+        if (searchQuery == null) {
+            return "";
+        }
+        String query = searchQuery.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query;
+    }
+
+    //? Postgres LIKE escapes with a backslash by default, user input must not act as a wildcard
+    private static String escapeLike(String query) {
+        return query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,15 +1,12 @@
 package com.hive.userservice.Service;
 
-import com.hive.userservice.DTO.ImageDTO;
 import com.hive.userservice.DTO.PaginationInfo;
 import com.hive.userservice.DTO.UserDTO;
+import com.hive.userservice.DTO.UserSearchPage;
 import com.hive.userservice.DTO.FilterDTO;
 import com.hive.userservice.Exception.InvalidUserDetailsException;
 import com.hive.userservice.Exception.UserNotFoundException;
-import com.hive.userservice.Utility.ImageType;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -22,21 +19,17 @@ public interface UserService {
     UserDTO profileUpdate(UserDTO user, String authHeader) throws UserNotFoundException, InvalidUserDetailsException;
     UserDTO getCurrentUserProfile(String authorizationHeader) throws UserNotFoundException;
     Boolean existsUserById(Long id);
+    Boolean isActiveUser(Long id);
+    List<Long> getUserIds(Long afterId, Integer limit);
     void blockUser(Long id, String reason) throws UserNotFoundException;
     void unBlockUser(Long id) throws UserNotFoundException;
     Long getTotalUsers();
     PaginationInfo getAllUser(Integer pageNo, Integer pageSize);
-    List<UserDTO> search(String searchQuery);
+    UserSearchPage search(String searchQuery, String cursor, Integer pageSize);
     PaginationInfo filter(FilterDTO userFilter);
     Map<String, Integer> getUserCountByMonth(LocalDate startDate, LocalDate endDate);
     Map<String, Integer> getUserCountByWeek(LocalDate startDate, LocalDate endDate);
     Map<String, Integer> getUserCountByYear(LocalDate startDate, LocalDate endDate);
-    //* Image
-    ImageDTO saveImage(MultipartFile file, ImageType imageType, String authHeader) throws UserNotFoundException, IOException;
-    ImageDTO getImageByUserAndImageType(Long userId, ImageType imageType) throws UserNotFoundException;
-    ImageDTO getImageByImageId(Long imageId);
-    Boolean existsImageByUserAndImageType(Long userId, ImageType imageType) throws UserNotFoundException;
-    Boolean existsImageByImageId(Long imageId);
 
 
 
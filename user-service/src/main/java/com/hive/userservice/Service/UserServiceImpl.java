@@ -1,5 +1,6 @@
 package com.hive.userservice.Service;
 
+import com.hive.Utility.UserEventType;
 import com.hive.userservice.DTO.*;
 import com.hive.userservice.Entity.*;
 import com.hive.userservice.Exception.*;
@@ -16,21 +17,24 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.multipart.MultipartFile;
-import java.io.IOException;
 import java.sql.Date;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
     private final UserDAO userDao;
-    private final ImageDAO imageDao;
     private final RestTemplate restTemplate;
+    private final UserSearchService userSearchService;
+    private final TypeaheadService typeaheadService;
+    private final SignupAnalyticsService signupAnalyticsService;
+    private final MessageQueueService mqService;
 
     @Override
     public UserDTO findUserByUsername(String username) throws UserNotFoundException {
@@ -64,7 +68,9 @@ public class UserServiceImpl implements UserService {
         userDTO.setIsVerified( currentUserDto.getIsVerified() );
         userDTO.setIsBlocked( currentUserDto.getIsBlocked() );
 
-        return entityToDTO( userDao.save( dtoTOEntity(userDTO)));
+        User saved = userDao.save( dtoTOEntity(userDTO));
+        syncTypeahead(saved);
+        return entityToDTO(saved);
     }
 
     @Override
@@ -79,6 +85,17 @@ public class UserServiceImpl implements UserService {
         return userDao.existsById(id);
     }
 
+    @Override
+    public Boolean isActiveUser(Long id) {
+        return userDao.existsByIdAndIsBlocked(id, false);
+    }
+
+    //? Blocked users are left out : consumers use these ids for the users that may post, like and comment
+    @Override
+    public List<Long> getUserIds(Long afterId, Integer limit) {
+        return userDao.findActiveIdsAfter(afterId, PageRequest.of(0, limit));
+    }
+
     @Override
     public void blockUser(Long id, String reason) throws UserNotFoundException {
         User user = userDao
@@ -87,6 +104,8 @@ public class UserServiceImpl implements UserService {
         user.setIsBlocked(true);
         user.setBlockReason(reason);
         userDao.save(user);
+        typeaheadService.remove(id);
+        mqService.sendUserEvent(id, UserEventType.BLOCKED);
     }
 
     @Override
@@ -97,6 +116,8 @@ public class UserServiceImpl implements UserService {
         user.setIsBlocked(false);
         user.setBlockReason("NOT BLOCKED");
         userDao.save(user);
+        syncTypeahead(user);
+        mqService.sendUserEvent(id, UserEventType.UNBLOCKED);
     }
 
     @Override
@@ -104,6 +125,13 @@ public class UserServiceImpl implements UserService {
         return userDao.count();
     }
 
+    private void syncTypeahead(User user) {
+        if (user.getRole() == Role.USER && !Boolean.TRUE.equals(user.getIsBlocked()))
+            typeaheadService.upsert(new TypeaheadDTO(user.getId(), user.getUsername(), user.getName()));
+        else
+            typeaheadService.remove(user.getId());
+    }
+
     private UserDTO entityToDTO(User user) {
         return UserDTO.builder()
                 .id(user.getId()) //1
@@ -137,58 +165,6 @@ public class UserServiceImpl implements UserService {
                 .build();
     }
 
-// USER SERVICE METHODS ENDS HERE
-// IMAGE SERVICES METHODS STARTS HERE
-
-    @Override
-    @Transactional
-    public ImageDTO saveImage(MultipartFile file, ImageType imageType, String authHeader)
-    throws UserNotFoundException, IOException {
-
-        User user = dtoTOEntity( getCurrentUserProfile(authHeader) );
-        Image image = Image.builder()
-                .name(file.getOriginalFilename())
-                .type(file.getContentType())
-                .image(ImageUtil.compressImage(file.getBytes()))
-                .imageType(imageType)
-                .user(user)
-                .build();
-        imageDao.findByUserAndImageType(user, imageType)
-                .ifPresent(value -> image.setId( value.getId() ));
-        return entityToDTO(imageDao.save(image));
-    }
-
-    @Override
-    @Transactional
-    public ImageDTO getImageByUserAndImageType(Long userId, ImageType imageType) throws UserNotFoundException {
-        User user = userDao.findById(userId)
-                    .orElseThrow(() -> new UserNotFoundException("[getImageByUserAndImageType] User with userID: " + userId));
-
-        return imageDao.findByUserAndImageType(user, imageType)
-                .map(this::entityToDTO)
-                .orElse(null);
-    }
-
-    @Override
-    @Transactional
-    public ImageDTO getImageByImageId(Long imageId) {
-        return imageDao.findById(imageId)
-                .map(this::entityToDTO)
-                .orElseThrow(RuntimeException::new);
-    }
-
-    @Override
-    public Boolean existsImageByUserAndImageType(Long userId, ImageType imageType) throws UserNotFoundException {
-        User user = userDao.findById(userId)
-                    .orElseThrow(() -> new UserNotFoundException("[getImageByUserAndImageType] User with userID: " + userId));
-        return imageDao.existsByUserAndImageType(user, imageType);
-    }
-
-    @Override
-    public Boolean existsImageByImageId(Long imageId) {
-        return imageDao.existsById(imageId);
-    }
-
     @Override
     public PaginationInfo getAllUser(Integer pageNo, Integer pageSize) {
         Pageable pageable = PageRequest.of(pageNo, pageSize, Sort.by("id"));
@@ -206,12 +182,38 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserDTO> search(String searchQuery) {
-        List<User> userList = new ArrayList<>();
-        userList.addAll(userDao.findUsersByUsernameContainingIgnoreCaseAndRole(searchQuery, Role.USER));
-        userList.addAll(userDao.findUsersByNameContainingIgnoreCaseAndRole(searchQuery, Role.USER));
-        userList.addAll(userDao.findUsersByEmailContainingIgnoreCaseAndRole(searchQuery, Role.USER));
-        return userList.stream().map(this::entityToDTO).toList();
+    public UserSearchPage search(String searchQuery, String cursor, Integer pageSize) {
+        pageSize = Math.max(1, Math.min(pageSize, MAX_SEARCH_PAGE_SIZE));
+        List<UserSearchService.SearchMatch> matches =
+                userSearchService.search(searchQuery, SearchCursor.decode(cursor), pageSize + 1);
+        boolean hasNext = matches.size() > pageSize;
+        if (hasNext) {
+            matches = matches.subList(0, pageSize);
+        }
+
+        Map<Long, User> usersById = new HashMap<>();
+        userDao.findAllById(matches.stream().map(UserSearchService.SearchMatch::userId).toList())
+               .forEach(user -> usersById.put(user.getId(), user));
+
+        List<UserDTO> users = new ArrayList<>(matches.size());
+        for (UserSearchService.SearchMatch match : matches) {
+            User user = usersById.get(match.userId());
+            if (user != null) {
+                users.add(entityToDTO(user));
+            }
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            UserSearchService.SearchMatch last = matches.get(matches.size() - 1);
+            nextCursor = SearchCursor.of(last.rank(), last.userId()).encode();
+        }
+        return UserSearchPage.builder()
+                .contents(users)
+                .pageSize(pageSize)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
     }
 
     @Override
@@ -269,71 +271,28 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Map<String, Integer> getUserCountByMonth(LocalDate startDate, LocalDate endDate) {
-        Map<String, Integer> dateCountMap = new HashMap<>(31);
-        LocalDate current = startDate;
-        while (!current.isAfter(endDate)) {
-            dateCountMap.put(
-                    String.valueOf(current.getDayOfMonth()), userDao.countAllByJoinDate(Date.valueOf(current))
-            );
-            System.out.println(String.valueOf(current.getDayOfMonth())+" " +dateCountMap.get(String.valueOf(current)));
-            current = current.plusDays(1);
-        }
+        Map<String, Integer> dateCountMap = new LinkedHashMap<>(32);
+        signupAnalyticsService.countSignups(startDate, endDate, SignupGranularity.DAY)
+                .forEach((day, count) -> dateCountMap.put(String.valueOf(day.getDayOfMonth()), count));
         return dateCountMap;
     }
 
     @Override
     public Map<String, Integer> getUserCountByWeek(LocalDate startDate, LocalDate endDate) {
-        Map<String, Integer> dateCountMap = new HashMap<>(31);
-        LocalDate current = startDate;
-        while (!current.isAfter(endDate)) {
-            dateCountMap.put(
-                    String.valueOf(current.getDayOfWeek()), userDao.countAllByJoinDate(Date.valueOf(current))
-            );
-            System.out.println(String.valueOf(current.getDayOfWeek())+" "+ String.valueOf(current)+" " +dateCountMap.get(String.valueOf(current)));
-            current = current.plusDays(1);
-        }
+        Map<String, Integer> dateCountMap = new LinkedHashMap<>(8);
+        signupAnalyticsService.countSignups(startDate, endDate, SignupGranularity.DAY)
+                .forEach((day, count) -> dateCountMap.put(String.valueOf(day.getDayOfWeek()), count));
         return dateCountMap;
     }
 
     @Override
     public Map<String, Integer> getUserCountByYear(LocalDate startDate, LocalDate endDate) {
-        Map<String, Integer> dateCountMap = new HashMap<>(12);
-        LocalDate current = startDate;
-        int year = current.getYear();
-        while (current.isBefore(endDate) || current.isEqual(endDate)) {
-            dateCountMap.put(
-                    String.valueOf(current.getMonth()), userDao.countAllByDateYearAndDateMonth(year,current.getMonthValue())
-            );
-            current = current.plusMonths(1);
-        }
+        Map<String, Integer> dateCountMap = new LinkedHashMap<>(12);
+        signupAnalyticsService.countSignups(startDate, endDate, SignupGranularity.MONTH)
+                .forEach((month, count) -> dateCountMap.put(String.valueOf(month.getMonth()), count));
         return dateCountMap;
     }
 
-    private ImageDTO entityToDTO(Image image) {
-        return ImageDTO.builder()
-                .id(image.getId())
-                .name(image.getName())
-                .type(image.getType())
-                .image(image.getImage())
-                .imageType(image.getImageType())
-                .userID(image.getUser().getId())
-                .build();
-    }
-
-    private Image dtoTOEntity(ImageDTO imageDTO) throws UserNotFoundException {
-        User user = userDao.findById(imageDTO.getUserID())
-                .orElseThrow(() -> new UserNotFoundException("[Image dtoTOEntity(ImageDTO)] User with userID: " + imageDTO.getUserID()));
-
-        return Image.builder()
-                .id(imageDTO.getId())
-                .name(imageDTO.getName())
-                .type(imageDTO.getType())
-                .image(imageDTO.getImage())
-                .imageType(imageDTO.getImageType())
-                .user(user)
-                .build();
-    }
-
     private PaginationInfo pageToPaginationInfo(Page<User> page) {
         List<UserDTO> contents = page.getContent().stream().map(this::entityToDTO).toList();
         return PaginationInfo.builder()
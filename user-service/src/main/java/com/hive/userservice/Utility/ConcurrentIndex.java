@@ -0,0 +1,55 @@
+package com.hive.userservice.Utility;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Startup CREATE INDEX CONCURRENTLY that repairs itself. A failed or interrupted concurrent build leaves an INVALID
+// index behind and IF NOT EXISTS would skip it forever, so an invalid index is dropped and built again.
+// A build in progress is also INVALID until it finishes : an advisory lock per index keeps other instances from
+// mistaking it for a failed one. Everything runs on one autocommit connection, the lock is session scoped.
+public final class ConcurrentIndex {
+    private ConcurrentIndex() { }
+
+    //? Returns false when another instance holds the lock and is taking care of the index
+    public static boolean ensure(JdbcTemplate jdbcTemplate, String name, String definition) {
+        ConnectionCallback<Boolean> build = connection -> {
+            if (!queryBoolean(connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))"), name)) {
+                return false;
+            }
+            try (Statement statement = connection.createStatement()) {
+                Boolean valid = queryNullableBoolean(
+                        connection.prepareStatement("SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)"), name);
+                if (Boolean.TRUE.equals(valid)) {
+                    return true;
+                }
+                if (valid != null) {
+                    statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+                }
+                statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " " + definition);
+                return true;
+            }
+            finally {
+                queryBoolean(connection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))"), name);
+            }
+        };
+        return Boolean.TRUE.equals(jdbcTemplate.execute(build));
+    }
+
+    private static boolean queryBoolean(PreparedStatement statement, String name) throws SQLException {
+        return Boolean.TRUE.equals(queryNullableBoolean(statement, name));
+    }
+
+    private static Boolean queryNullableBoolean(PreparedStatement statement, String name) throws SQLException {
+        try (statement) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? (Boolean) resultSet.getObject(1) : null;
+            }
+        }
+    }
+}
@@ -3,33 +3,142 @@ package com.hive.userservice.Utility;
 import org.springframework.stereotype.Component;
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
 import javax.imageio.ImageWriteParam;
 import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
 import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
 
+// Image engine for profile and cover variants.
+// Decode reads only every n-th pixel of oversized inputs (never the full 50MP raster), resize halves step by step
+// before the final bicubic pass, and output is JPEG for opaque images and PNG only when there is an alpha channel.
 @Component
 public class ImageUtil {
+    private static final long MAX_SOURCE_PIXELS = 150_000_000L;
+    //? Decoded raster stays at least 1.5x the largest variant, the resize does the rest without aliasing
+    private static final double DECODE_HEADROOM = 1.5;
+    private static final float JPEG_QUALITY = 0.82f;
 
-    public static byte[] compressImage(byte[] imageData) throws IOException {
-        BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageData));
-        ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
-        ImageWriteParam param = writer.getDefaultWriteParam();
-        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-        param.setCompressionQuality(0.7f);
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        writer.setOutput(new MemoryCacheImageOutputStream(outputStream));
-        writer.write(null, new IIOImage(image, null, null), param);
-        return outputStream.toByteArray();
+    public record DecodedImage(BufferedImage image, int sourceWidth, int sourceHeight) { }
+    public record EncodedImage(byte[] bytes, String extension) { }
+
+    public static DecodedImage decode(Path source, List<ImageVariant> variants) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("[decode] Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IOException("[decode] Image too large " + width + "x" + height);
+                }
+                int subsampling = subsampling(width, height, variants);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return new DecodedImage(reader.read(0, param), width, height);
+            }
+            finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    //? Avatars : centred square crop. Covers : the variant width, aspect kept. Never upscales
+    public static EncodedImage render(BufferedImage source, ImageVariant variant) throws IOException {
+        int x = 0, y = 0;
+        int cropWidth = source.getWidth();
+        int cropHeight = source.getHeight();
+        int width, height;
+        if (variant.isSquare()) {
+            int side = Math.min(cropWidth, cropHeight);
+            x = (cropWidth - side) / 2;
+            y = (cropHeight - side) / 2;
+            cropWidth = side;
+            cropHeight = side;
+            width = height = Math.min(side, variant.getWidth());
+        }
+        else {
+            width = Math.min(cropWidth, variant.getWidth());
+            height = Math.max(1, (int) Math.round((double) cropHeight * width / cropWidth));
+        }
+
+        boolean alpha = source.getColorModel().hasAlpha();
+        BufferedImage current = source.getSubimage(x, y, cropWidth, cropHeight);
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2, alpha,
+                           RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+        current = draw(current, width, height, alpha, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        return alpha ? new EncodedImage(encode(current, "png", null), "png")
+                     : new EncodedImage(encode(current, "jpeg", JPEG_QUALITY), "jpg");
     }
 
-    public static byte[] decompressImage(byte[] compressedImageData) throws IOException {
-        BufferedImage image = ImageIO.read(new ByteArrayInputStream(compressedImageData));
+    public static String extensionOf(String fileName, String contentType) {
+        if (fileName != null && fileName.lastIndexOf('.') > 0) {
+            String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase();
+            if (extension.matches("[a-z0-9]{1,5}")) {
+                return extension;
+            }
+        }
+        if (contentType != null && contentType.startsWith("image/")) {
+            return contentType.substring("image/".length()).replaceAll("[^a-z0-9]", "");
+        }
+        return "bin";
+    }
+
+    //? Largest n that keeps the decoded raster DECODE_HEADROOM times above every variant of the upload
+    private static int subsampling(int width, int height, List<ImageVariant> variants) {
+        int subsampling = Integer.MAX_VALUE;
+        for (ImageVariant variant : variants) {
+            int available = variant.isSquare() ? Math.min(width, height) : width;
+            subsampling = Math.min(subsampling, (int) (available / (variant.getWidth() * DECODE_HEADROOM)));
+        }
+        return Math.max(1, subsampling == Integer.MAX_VALUE ? 1 : subsampling);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, boolean alpha, Object interpolation) {
+        BufferedImage target = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        }
+        finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encode(BufferedImage image, String format, Float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        if (quality != null) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        }
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ImageIO.write(image, "png", outputStream);
+        try (MemoryCacheImageOutputStream output = new MemoryCacheImageOutputStream(outputStream)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        }
+        finally {
+            writer.dispose();
+        }
         return outputStream.toByteArray();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.hive.userservice.Utility;
+
+import java.util.Arrays;
+import java.util.List;
+
+//? Precomputed sizes : avatars are square crops, covers keep their aspect ratio (height 0 = follow the width)
+public enum ImageVariant {
+    AVATAR_48(ImageType.PROFILE_IMAGE, 48, 48),
+    AVATAR_96(ImageType.PROFILE_IMAGE, 96, 96),
+    AVATAR_256(ImageType.PROFILE_IMAGE, 256, 256),
+    COVER_640(ImageType.COVER_IMAGE, 640, 0),
+    COVER_1280(ImageType.COVER_IMAGE, 1280, 0),
+    COVER_1920(ImageType.COVER_IMAGE, 1920, 0);
+
+    private final ImageType imageType;
+    private final int width;
+    private final int height;
+
+    ImageVariant(ImageType imageType, int width, int height) {
+        this.imageType = imageType;
+        this.width = width;
+        this.height = height;
+    }
+
+    public ImageType getImageType() { return imageType; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public boolean isSquare() { return height == width; }
+
+    public static List<ImageVariant> of(ImageType imageType) {
+        return Arrays.stream(values()).filter(variant -> variant.imageType == imageType).toList();
+    }
+
+    public static ImageVariant defaultFor(ImageType imageType) {
+        return imageType == ImageType.PROFILE_IMAGE ? AVATAR_256 : COVER_1280;
+    }
+}
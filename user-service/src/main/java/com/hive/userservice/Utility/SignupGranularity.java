@@ -0,0 +1,32 @@
+package com.hive.userservice.Utility;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+// Bucket sizes for sign-up analytics. truncate mirrors Postgres date_trunc (weeks start on Monday).
+public enum SignupGranularity {
+    DAY, WEEK, MONTH, YEAR;
+
+    public String unit() {
+        return name().toLowerCase();
+    }
+
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    public LocalDate next(LocalDate bucket) {
+        return switch (this) {
+            case DAY -> bucket.plusDays(1);
+            case WEEK -> bucket.plusWeeks(1);
+            case MONTH -> bucket.plusMonths(1);
+            case YEAR -> bucket.plusYears(1);
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.hive.userservice.Service;
+
+import com.hive.userservice.DTO.TypeaheadDTO;
+import com.hive.userservice.Repository.UserDAO;
+import com.hive.userservice.Utility.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TypeaheadServiceImplTest {
+	private TypeaheadServiceImpl typeahead;
+
+	@BeforeEach
+	void setUp() {
+		UserDAO userDao = mock(UserDAO.class);
+		when(userDao.findTypeaheadAfter(eq(0L), eq(Role.USER), any())).thenReturn(List.of(
+				new TypeaheadDTO(1L, "anna", "Zed Brown"),
+				new TypeaheadDTO(2L, "bob", "Ann Lee"),
+				new TypeaheadDTO(3L, "Ann", "Xavier Young")));
+		typeahead = new TypeaheadServiceImpl(userDao);
+		typeahead.rebuild();
+	}
+
+	@Test
+	void usernameHitsRankAboveNameHitsInKeyOrder() {
+		assertEquals(List.of(3L, 1L, 2L), ids(typeahead.suggest("  ANN ", 10)));
+	}
+
+	@Test
+	void laterWordsOfTheNameMatch() {
+		assertEquals(List.of(2L), ids(typeahead.suggest("lee", 10)));
+		assertEquals(List.of(2L), ids(typeahead.suggest("ann l", 10)));
+	}
+
+	@Test
+	void limitIsApplied() {
+		assertEquals(List.of(3L), ids(typeahead.suggest("ann", 1)));
+	}
+
+	@Test
+	void overlayUpdateShadowsTheSnapshot() {
+		typeahead.upsert(new TypeaheadDTO(1L, "zoe", "Zed Brown"));
+		assertEquals(List.of(3L, 2L), ids(typeahead.suggest("ann", 10)));
+		assertEquals(List.of(1L), ids(typeahead.suggest("zo", 10)));
+	}
+
+	@Test
+	void overlayRemovalHidesTheUser() {
+		typeahead.remove(3L);
+		assertEquals(List.of(1L, 2L), ids(typeahead.suggest("ann", 10)));
+	}
+
+	@Test
+	void overlayAddsNewUsers() {
+		typeahead.upsert(new TypeaheadDTO(4L, "annie", "Annie Hall"));
+		assertEquals(List.of(3L, 1L, 4L, 2L), ids(typeahead.suggest("ann", 10)));
+	}
+
+	private static List<Long> ids(List<TypeaheadDTO> suggestions) {
+		return suggestions.stream().map(TypeaheadDTO::getId).toList();
+	}
+}